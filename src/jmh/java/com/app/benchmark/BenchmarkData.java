@@ -0,0 +1,64 @@
+package com.app.benchmark;
+
+import com.app.events.EventSinks;
+import com.app.events.NoOpEventSink;
+import com.app.model.Participant;
+import com.app.participants.Administrative;
+import com.app.participants.Guest;
+import com.app.participants.Student;
+import com.app.participants.Teacher;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BenchmarkData - Datos de prueba compartidos por los benchmarks
+ *
+ * Participantes con la mezcla de tipos de un seminario real: mayoría de
+ * estudiantes, luego docentes, administrativos e invitados.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static List<Participant> participants(int count) {
+        List<Participant> participants = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            participants.add(participant(i));
+        }
+        return participants;
+    }
+
+    static List<Student> students(int count) {
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            students.add(new Student("S" + i, "Estudiante " + i, "s" + i + "@unsa.edu.pe",
+                    "UNSA", "Ingeniería de Software"));
+        }
+        return students;
+    }
+
+    static Participant participant(int i) {
+        return switch (i % 10) {
+            case 0, 1 -> new Teacher("T" + i, "Docente " + i, "t" + i + "@unsa.edu.pe",
+                    "UNSA", "Ingeniería de Software");
+            case 2 -> new Administrative("A" + i, "Administrativo " + i, "a" + i + "@unsa.edu.pe",
+                    "Secretaría", "Asistente");
+            case 3 -> new Guest("G" + i, "Invitado " + i, "g" + i + "@empresa.pe", "Empresa");
+            default -> new Student("S" + i, "Estudiante " + i, "s" + i + "@unsa.edu.pe",
+                    "UNSA", "Ingeniería de Software");
+        };
+    }
+
+    /**
+     * Descarta la salida por consola y los eventos de registro, para medir el
+     * trabajo y no la E/S
+     */
+    static void silence() {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        EventSinks.install(NoOpEventSink.INSTANCE);
+    }
+}
@@ -0,0 +1,130 @@
+package com.app.benchmark;
+
+import com.app.events.ConsoleEventSink;
+import com.app.events.EventSinks;
+import com.app.events.NoOpEventSink;
+import com.app.generics.ParticipantManager;
+import com.app.model.Participant;
+import com.app.participants.Student;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BulkTransferBenchmark - Métodos masivos de ParticipantManager frente a los de a uno
+ *
+ * Cada par mueve 500k elementos a un ArrayList<Object> nuevo (destino
+ * contravariante):
+ * - addStudents / addStudentsBulk
+ * - transferParticipants / transferParticipantsBulk
+ * - mergeLists / mergeListsBulk (dos mitades de 250k)
+ *
+ * Con sink=console los eventos van a System.out, que aquí es un archivo con
+ * autoflush (una escritura por línea, como una consola); con sink=noop solo
+ * queda el costo de copiar y hacer crecer el destino.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class BulkTransferBenchmark {
+
+    @Param({"500000"})
+    private int size;
+
+    @Param({"console", "noop"})
+    private String sink;
+
+    private final ParticipantManager manager = new ParticipantManager();
+
+    private Path log;
+    private PrintStream console;
+    private List<Student> students;
+    private List<Participant> participants;
+    private List<Object> destination;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BenchmarkData.silence();
+        students = BenchmarkData.students(size);
+        participants = BenchmarkData.participants(size);
+        if (sink.equals("console")) {
+            log = Files.createTempFile("bulk-transfer", ".log");
+            console = new PrintStream(new FileOutputStream(log.toFile()), true);
+            System.setOut(console);
+            EventSinks.install(ConsoleEventSink.INSTANCE);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void freshDestination() {
+        destination = new ArrayList<>();
+    }
+
+    @Benchmark
+    public List<Object> addStudents() {
+        manager.addStudents(destination, students);
+        return destination;
+    }
+
+    @Benchmark
+    public List<Object> addStudentsBulk() {
+        manager.addStudentsBulk(destination, students);
+        return destination;
+    }
+
+    @Benchmark
+    public List<Object> transferParticipants() {
+        manager.transferParticipants(destination, participants);
+        return destination;
+    }
+
+    @Benchmark
+    public List<Object> transferParticipantsBulk() {
+        manager.transferParticipantsBulk(destination, participants);
+        return destination;
+    }
+
+    @Benchmark
+    public List<Object> mergeLists() {
+        manager.mergeLists(destination, students.subList(0, size / 2), students.subList(size / 2, size));
+        return destination;
+    }
+
+    @Benchmark
+    public List<Object> mergeListsBulk() {
+        manager.mergeListsBulk(destination, students.subList(0, size / 2), students.subList(size / 2, size));
+        return destination;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        EventSinks.install(NoOpEventSink.INSTANCE);
+        if (console != null) {
+            console.close();
+            Files.delete(log);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.app.benchmark;
+
+import com.app.generics.EventRegistry;
+import com.app.model.Participant;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ConcurrentRegisterBenchmark - Varios productores registrando en un EventRegistry thread-safe
+ *
+ * Los productores se reparten 400k participantes y cada uno los registra en
+ * bloques de STREAM_CHUNK_SIZE con registerAll:
+ * - REJECT: camino concurrente (reservas por franja y una publicación corta
+ *   por bloque); el tiempo debería bajar al sumar núcleos
+ * - REPLACE: camino exclusivo, cada bloque con el candado de escritura; sirve
+ *   de referencia de un registro totalmente serializado
+ *
+ * Todos los participantes son nuevos, así que ambas políticas hacen el mismo
+ * trabajo lógico.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class ConcurrentRegisterBenchmark {
+
+    @Param({"400000"})
+    private int size;
+
+    @Param({"1", "2", "4", "8"})
+    private int producers;
+
+    @Param({"REJECT", "REPLACE"})
+    private EventRegistry.DuplicatePolicy policy;
+
+    private ExecutorService pool;
+    private List<List<List<Participant>>> work; // Por productor, sus bloques
+    private EventRegistry registry;
+
+    @Setup(Level.Trial)
+    public void startPool() {
+        BenchmarkData.silence();
+        pool = Executors.newFixedThreadPool(producers);
+    }
+
+    @Setup(Level.Iteration)
+    public void freshRegistry() {
+        List<Participant> participants = BenchmarkData.participants(size);
+        work = new ArrayList<>(producers);
+        for (int t = 0; t < producers; t++) {
+            work.add(new ArrayList<>());
+        }
+        int chunk = EventRegistry.STREAM_CHUNK_SIZE;
+        for (int from = 0, i = 0; from < size; from += chunk, i++) {
+            work.get(i % producers).add(participants.subList(from, Math.min(size, from + chunk)));
+        }
+        registry = new EventRegistry(true);
+        registry.setDuplicatePolicy(policy);
+    }
+
+    @Benchmark
+    public EventRegistry registerAll() throws Exception {
+        List<Future<?>> futures = new ArrayList<>(producers);
+        for (List<List<Participant>> chunks : work) {
+            futures.add(pool.submit(() -> chunks.forEach(registry::registerAll)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return registry;
+    }
+
+    @TearDown(Level.Trial)
+    public void stopPool() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,147 @@
+package com.app.benchmark;
+
+import com.app.model.Participant;
+import com.app.storage.OffHeapParticipantStore;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GcPauseBenchmark - Pausas del GC con los participantes en el heap o fuera de él
+ *
+ * Se mantienen vivos N participantes de dos formas:
+ * - HEAP: la lista de objetos Participant, como la guarda EventRegistry
+ * - OFF_HEAP: solo un OffHeapParticipantStore con los mismos datos
+ *
+ * y cada operación corre la misma carga de asignación: basura de vida corta
+ * más un anillo de arreglos de vida media que llegan a la generación vieja y
+ * obligan al GC a marcarla. Los contadores gcCount y gcPauseMillis se leen de
+ * los GarbageCollectorMXBean (suma de todos los colectores) y JMH los suma
+ * sobre las iteraciones medidas; el tiempo por operación también refleja el
+ * costo de las pausas.
+ *
+ * Se fija G1 porque con un solo procesador la JVM elige el colector serial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g", "-XX:+UseG1GC"})
+public class GcPauseBenchmark {
+
+    public enum Storage { HEAP, OFF_HEAP }
+
+    private static final int CHUNK = 1024;
+    private static final int RING = 64 * 1024;          // 64 MiB de vida media
+    private static final int ALLOCATIONS_PER_OP = 16 * 1024;
+
+    @Param({"2000000"})
+    private int size;
+
+    @Param({"HEAP", "OFF_HEAP"})
+    private Storage storage;
+
+    private List<Participant> heapParticipants;
+    private OffHeapParticipantStore offHeapStore;
+    private final byte[][] ring = new byte[RING][];
+
+    @Setup(Level.Trial)
+    public void fill() {
+        BenchmarkData.silence();
+        List<Participant> participants = BenchmarkData.participants(size);
+        if (storage == Storage.HEAP) {
+            heapParticipants = participants;
+        } else {
+            offHeapStore = OffHeapParticipantStore.from(participants);
+        }
+        System.gc();
+    }
+
+    /**
+     * Contadores del GC acumulados desde el inicio de la iteración
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class GcCounters {
+        public long gcCount;
+        public long gcPauseMillis;
+
+        private long baseCount;
+        private long baseMillis;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            baseCount = totalCount();
+            baseMillis = totalMillis();
+            gcCount = 0;
+            gcPauseMillis = 0;
+        }
+
+        void update() {
+            gcCount = totalCount() - baseCount;
+            gcPauseMillis = totalMillis() - baseMillis;
+        }
+
+        private static long totalCount() {
+            long count = 0;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                count += Math.max(0, gc.getCollectionCount());
+            }
+            return count;
+        }
+
+        private static long totalMillis() {
+            long millis = 0;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                millis += Math.max(0, gc.getCollectionTime());
+            }
+            return millis;
+        }
+    }
+
+    @Benchmark
+    public int allocate(GcCounters counters) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int checksum = 0;
+        for (int i = 0; i < ALLOCATIONS_PER_OP; i++) {
+            byte[] garbage = new byte[CHUNK];
+            checksum += garbage.length;
+            // Uno de cada cuatro reemplaza un lugar del anillo y sobrevive un rato
+            if ((i & 3) == 0) {
+                ring[random.nextInt(RING)] = new byte[CHUNK];
+            }
+        }
+        counters.update();
+        return checksum + liveSetSize();
+    }
+
+    @TearDown(Level.Trial)
+    public void release() {
+        if (offHeapStore != null) {
+            offHeapStore.close();
+        }
+    }
+
+    private int liveSetSize() {
+        return storage == Storage.HEAP ? heapParticipants.size() : offHeapStore.size();
+    }
+}
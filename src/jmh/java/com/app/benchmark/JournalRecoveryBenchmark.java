@@ -0,0 +1,113 @@
+package com.app.benchmark;
+
+import com.app.generics.EventRegistry;
+import com.app.model.Participant;
+import com.app.organizers.CommissionMember;
+import com.app.participants.Audience;
+import com.app.participants.InternationalPresenter;
+import com.app.participants.NationalPresenter;
+import com.app.storage.ParticipantJournal;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JournalRecoveryBenchmark - Reinicio con un diario de 1M registros
+ *
+ * El diario se escribe una sola vez por trial, con las ocho subclases de
+ * Participant que soporta ParticipantCodec y segmentos de 16 MiB (varios
+ * segmentos). Cada medición abre el diario desde cero:
+ * - recover: abrir el diario (recorrer los segmentos y verificar el CRC de
+ *   cada entrada para encontrar el final válido)
+ * - recoverAndReplay: además, reconstruir un EventRegistry con attachJournal,
+ *   o sea el tiempo total hasta tener el registro listo tras un reinicio
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx3g"})
+public class JournalRecoveryBenchmark {
+
+    private static final int SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    @Param({"1000000"})
+    private int records;
+
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void writeJournal() throws IOException {
+        BenchmarkData.silence();
+        directory = Files.createTempDirectory("journal-recovery");
+        try (ParticipantJournal journal = open()) {
+            for (int i = 0; i < records; i++) {
+                journal.append(record(i));
+            }
+        }
+    }
+
+    @Benchmark
+    public long recover() throws IOException {
+        try (ParticipantJournal journal = open()) {
+            return journal.getRecordCount();
+        }
+    }
+
+    @Benchmark
+    public EventRegistry recoverAndReplay() throws IOException {
+        try (ParticipantJournal journal = open()) {
+            EventRegistry registry = new EventRegistry();
+            registry.attachJournal(journal);
+            return registry;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteJournal() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    private ParticipantJournal open() throws IOException {
+        return new ParticipantJournal(directory, SEGMENT_SIZE, ParticipantJournal.DEFAULT_GROUP_COMMIT_SIZE);
+    }
+
+    /**
+     * Los tipos de BenchmarkData más ponentes, público y comisión
+     */
+    private static Participant record(int i) {
+        return switch (i % 20) {
+            case 17 -> new NationalPresenter("N" + i, "Ponente " + i, "n" + i + "@unsa.edu.pe",
+                    "Compiladores", "UNSA");
+            case 18 -> new InternationalPresenter("I" + i, "Speaker " + i, "i" + i + "@mit.edu",
+                    "Type Systems", "USA", "MIT");
+            case 19 -> i % 40 == 19
+                    ? new CommissionMember("C" + i, "Comisión " + i, "c" + i + "@unsa.edu.pe",
+                            "UNSA", "Software", "Logística")
+                    : new Audience("P" + i, "Público " + i, "p" + i + "@gmail.com", false, "Perú");
+            default -> BenchmarkData.participant(i);
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package com.app.benchmark;
+
+import com.app.participants.Student;
+import com.app.payment.CashPayment;
+import com.app.payment.PaymentMethod;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PartialPaymentsBenchmark - Participantes que pagan en muchas cuotas
+ *
+ * - installments: armar el participante pago a pago; con el total acumulado
+ *   cada addPayment es O(1), antes recorría todos los pagos (O(n²) en total)
+ * - runningTotal frente a streamedTotal: leer total y pago completo con el
+ *   acumulado, o sumando la lista de pagos como antes en cada consulta
+ * - refundAndRestore: un pago que pasa a REFUNDED y vuelve a COMPLETED
+ *   ajusta el total sin recorrer los demás
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PartialPaymentsBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int installments;
+
+    private Student paid;
+    private PaymentMethod toggled;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData.silence();
+        paid = newStudent();
+        for (int i = 0; i < installments; i++) {
+            paid.addPayment(installment(i));
+        }
+        toggled = paid.getPaymentMethods().get(installments / 2);
+    }
+
+    @Benchmark
+    public boolean installments() {
+        Student student = newStudent();
+        for (int i = 0; i < installments; i++) {
+            student.addPayment(installment(i));
+        }
+        return student.hasFullyPaid();
+    }
+
+    @Benchmark
+    public long runningTotal() {
+        return paid.hasFullyPaid() ? paid.getTotalPaidCents() : -paid.getTotalPaidCents();
+    }
+
+    @Benchmark
+    public long streamedTotal() {
+        long total = paid.getPaymentMethods().stream()
+                .filter(p -> p.getStatus().countsAsPaid())
+                .mapToLong(PaymentMethod::getAmountCents)
+                .sum();
+        return total >= paid.getRegistrationFeeCents() ? total : -total;
+    }
+
+    @Benchmark
+    public long refundAndRestore() {
+        toggled.setStatus(PaymentMethod.PaymentStatus.REFUNDED);
+        long refunded = paid.getTotalPaidCents();
+        toggled.setStatus(PaymentMethod.PaymentStatus.COMPLETED);
+        return refunded + paid.getTotalPaidCents();
+    }
+
+    private static Student newStudent() {
+        return new Student("S1", "Estudiante 1", "s1@unsa.edu.pe", "UNSA", "Ingeniería de Software");
+    }
+
+    private CashPayment installment(int i) {
+        // La tarifa completa repartida en cuotas iguales
+        return new CashPayment(50.0 / installments, "Estudiante 1", "Caja", "C-" + i, "PEN");
+    }
+}
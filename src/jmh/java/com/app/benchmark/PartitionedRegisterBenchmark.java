@@ -0,0 +1,97 @@
+package com.app.benchmark;
+
+import com.app.generics.EventRegistry;
+import com.app.generics.PartitionedEventRegistry;
+import com.app.model.Participant;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PartitionedRegisterBenchmark - Escalado de PartitionedEventRegistry con los núcleos
+ *
+ * Con 'cores' shards, un ForkJoinPool de 'cores' hilos y 'cores' productores
+ * que se reparten 400k participantes en bloques de STREAM_CHUNK_SIZE. Cada
+ * bloque se reparte entre los shards y los productores compiten solo cuando
+ * caen en el mismo shard, así que el tiempo debería bajar al sumar núcleos
+ * hasta que la memoria sea el límite. Al final se piden los conteos por tipo
+ * (suma de los contadores de cada shard), que no agregan un recorrido.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class PartitionedRegisterBenchmark {
+
+    @Param({"400000"})
+    private int size;
+
+    @Param({"1", "2", "4", "8"})
+    private int cores;
+
+    private ForkJoinPool shardPool;
+    private ExecutorService producers;
+    private List<List<List<Participant>>> work; // Por productor, sus bloques
+    private PartitionedEventRegistry registry;
+
+    @Setup(Level.Trial)
+    public void startPools() {
+        BenchmarkData.silence();
+        shardPool = new ForkJoinPool(cores);
+        producers = Executors.newFixedThreadPool(cores);
+    }
+
+    @Setup(Level.Iteration)
+    public void freshRegistry() {
+        List<Participant> participants = BenchmarkData.participants(size);
+        work = new ArrayList<>(cores);
+        for (int t = 0; t < cores; t++) {
+            work.add(new ArrayList<>());
+        }
+        int chunk = EventRegistry.STREAM_CHUNK_SIZE;
+        for (int from = 0, i = 0; from < size; from += chunk, i++) {
+            work.get(i % cores).add(participants.subList(from, Math.min(size, from + chunk)));
+        }
+        registry = new PartitionedEventRegistry(cores, shardPool);
+    }
+
+    @Benchmark
+    public Map<String, Integer> registerAll() throws Exception {
+        List<Future<?>> futures = new ArrayList<>(cores);
+        for (List<List<Participant>> chunks : work) {
+            futures.add(producers.submit(() -> chunks.forEach(registry::registerAll)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return registry.countsByType();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopPools() {
+        producers.shutdownNow();
+        shardPool.shutdownNow();
+    }
+}
@@ -0,0 +1,109 @@
+package com.app.benchmark;
+
+import com.app.events.AsyncFileEventSink;
+import com.app.events.ConsoleEventSink;
+import com.app.events.EventSink;
+import com.app.events.EventSinks;
+import com.app.events.NoOpEventSink;
+import com.app.generics.EventRegistry;
+import com.app.model.Participant;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RegisterAllBenchmark - registerAll de 1M participantes según el sink de eventos
+ *
+ * - console: el comportamiento anterior, un System.out.println por
+ *   participante (aquí System.out va a un archivo con autoflush, como una
+ *   consola: una escritura por línea)
+ * - async: AsyncFileEventSink; la medición incluye flush(), o sea hasta que
+ *   el último evento está en el archivo y no solo encolado
+ * - noop: el costo del registro sin ninguna salida
+ *
+ * Cada iteración registra participantes nuevos en un registro vacío, porque
+ * registrar los mismos objetos otra vez los engancharía a más estadísticas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx3g"})
+public class RegisterAllBenchmark {
+
+    @Param({"1000000"})
+    private int size;
+
+    @Param({"console", "async", "noop"})
+    private String sink;
+
+    private Path directory;
+    private PrintStream console;
+    private EventSink installed;
+    private List<Participant> participants;
+    private EventRegistry registry;
+
+    @Setup(Level.Trial)
+    public void openSink() throws IOException {
+        BenchmarkData.silence();
+        directory = Files.createTempDirectory("register-all");
+        switch (sink) {
+            case "console" -> {
+                console = new PrintStream(new FileOutputStream(directory.resolve("console.log").toFile()), true);
+                System.setOut(console);
+                installed = ConsoleEventSink.INSTANCE;
+            }
+            case "async" -> installed = new AsyncFileEventSink(directory.resolve("events.log"));
+            default -> installed = NoOpEventSink.INSTANCE;
+        }
+        EventSinks.install(installed);
+    }
+
+    @Setup(Level.Iteration)
+    public void freshRegistry() {
+        participants = BenchmarkData.participants(size);
+        registry = new EventRegistry();
+    }
+
+    @Benchmark
+    public EventRegistry registerAll() {
+        registry.registerAll(participants);
+        installed.flush();
+        return registry;
+    }
+
+    @TearDown(Level.Trial)
+    public void closeSink() throws IOException {
+        EventSinks.install(NoOpEventSink.INSTANCE);
+        installed.close();
+        if (console != null) {
+            console.close();
+        }
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+}
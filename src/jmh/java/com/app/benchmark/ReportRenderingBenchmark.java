@@ -0,0 +1,118 @@
+package com.app.benchmark;
+
+import com.app.model.Participant;
+import com.app.participants.Administrative;
+import com.app.participants.Guest;
+import com.app.participants.Student;
+import com.app.participants.Teacher;
+import com.app.payment.CashPayment;
+import com.app.payment.PaymentMethod;
+import com.app.storage.ParticipantReportWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReportRenderingBenchmark - Reporte de texto con String.format frente a StringBuilder
+ *
+ * - format: el reporte como se armaba antes, con String.format en getInfo,
+ *   getPaymentInfo, PaymentMethod.getInfo (y un DateTimeFormatter nuevo por
+ *   pago) y getPaymentDetails, reproducido aquí con los getters públicos
+ * - append: el mismo reporte con ParticipantReportWriter
+ *
+ * Ambos escriben una línea por participante y una por pago en un Writer que
+ * descarta la salida, para medir el armado del texto y no la E/S.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportRenderingBenchmark {
+
+    @Param({"100000"})
+    private int size;
+
+    private List<Participant> participants;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData.silence();
+        participants = BenchmarkData.participants(size);
+        for (int i = 0; i < size; i++) {
+            Participant p = participants.get(i);
+            p.addPayment(new CashPayment(p.getRegistrationFee() / 2, p.getName(), "Caja", "C-" + i, "PEN"));
+        }
+    }
+
+    @Benchmark
+    public long format() throws IOException {
+        Writer out = Writer.nullWriter();
+        long rows = 0;
+        for (Participant p : participants) {
+            out.write(formattedInfo(p) + " | " + formattedPaymentInfo(p) + "\n");
+            for (PaymentMethod payment : p.getPaymentMethods()) {
+                out.write("    " + formattedInfo(payment) + " | " + formattedDetails(payment) + "\n");
+            }
+            rows++;
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public long append() throws IOException {
+        ParticipantReportWriter report = new ParticipantReportWriter(Writer.nullWriter(), true);
+        long rows = report.writeAll(participants);
+        report.flush();
+        return rows;
+    }
+
+    private static String formattedInfo(Participant p) {
+        String info = String.format("%s: %s (ID: %s, Email: %s)", p.getType(), p.getName(), p.getId(), p.getEmail());
+        return switch (p) {
+            case Student s -> info + String.format(", Universidad: %s, Carrera: %s",
+                    s.getUniversity(), s.getCareer());
+            case Teacher t -> info + String.format(", Institución: %s, Especialidad: %s",
+                    t.getInstitution(), t.getSpecialty());
+            case Administrative a -> info + String.format(", Departamento: %s, Cargo: %s",
+                    a.getDepartment(), a.getPosition());
+            case Guest g -> info + String.format(", Organización: %s", g.getOrganization());
+            default -> info;
+        };
+    }
+
+    private static String formattedPaymentInfo(Participant p) {
+        return String.format("Tarifa: S/ %.2f | Pagado: S/ %.2f | Estado: %s",
+                p.getRegistrationFee(), p.getTotalPaid(),
+                p.hasFullyPaid() ? "✅ COMPLETO" : "⚠️ PENDIENTE");
+    }
+
+    private static String formattedInfo(PaymentMethod payment) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+        return String.format("Pago: S/ %.2f | Pagador: %s | Fecha: %s | ID: %s | Estado: %s",
+                payment.getAmount(), payment.getPayerName(), payment.getPaymentDate().format(formatter),
+                payment.getTransactionId(), payment.getStatus());
+    }
+
+    private static String formattedDetails(PaymentMethod payment) {
+        CashPayment cash = (CashPayment) payment;
+        return String.format("Efectivo (%s) | Recibido por: %s | Recibo: %s",
+                cash.getCurrency(), cash.getReceivedBy(), cash.getReceiptNumber());
+    }
+}
@@ -0,0 +1,99 @@
+package com.app.benchmark;
+
+import com.app.generics.EventRegistry;
+import com.app.model.Participant;
+import com.app.payment.CashPayment;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SnapshotBenchmark - Fotos O(1) con el vector persistente frente a las
+ * copias con new ArrayList<>(...) que se hacían en cada llamada
+ *
+ * Para ver la memoria asignada por operación: -prof gc
+ * (gc.alloc.rate.norm, en bytes por llamada).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark {
+
+    @Param({"10000", "200000"})
+    private int size;
+
+    private EventRegistry registry;
+    private Participant payer;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData.silence();
+        registry = new EventRegistry();
+        registry.registerAll(BenchmarkData.participants(size));
+        payer = BenchmarkData.participant(4);
+        for (int i = 0; i < 12; i++) {
+            payer.addPayment(new CashPayment(5, "Pagador", "Caja", "R-" + i, "PEN"));
+        }
+    }
+
+    @Benchmark
+    public List<Participant> allParticipantsSnapshot() {
+        return registry.getAllParticipants();
+    }
+
+    @Benchmark
+    public List<Participant> allParticipantsCopy() {
+        return new ArrayList<>(registry.getAllParticipants());
+    }
+
+    /**
+     * Foto más un recorrido completo, como haría un reporte
+     */
+    @Benchmark
+    public int allParticipantsSnapshotAndScan() {
+        int paid = 0;
+        for (Participant p : registry.getAllParticipants()) {
+            if (p.hasFullyPaid()) {
+                paid++;
+            }
+        }
+        return paid;
+    }
+
+    @Benchmark
+    public int allParticipantsCopyAndScan() {
+        int paid = 0;
+        for (Participant p : new ArrayList<>(registry.getAllParticipants())) {
+            if (p.hasFullyPaid()) {
+                paid++;
+            }
+        }
+        return paid;
+    }
+
+    @Benchmark
+    public Object paymentMethodsSnapshot() {
+        return payer.getPaymentMethods();
+    }
+
+    @Benchmark
+    public Object paymentMethodsCopy() {
+        return new ArrayList<>(payer.getPaymentMethods());
+    }
+}
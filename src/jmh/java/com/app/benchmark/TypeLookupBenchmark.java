@@ -0,0 +1,64 @@
+package com.app.benchmark;
+
+import com.app.generics.EventRegistry;
+import com.app.model.Participant;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TypeLookupBenchmark - getParticipantsByType con el índice por tipo frente
+ * al recorrido lineal con equalsIgnoreCase que hacía antes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypeLookupBenchmark {
+
+    @Param({"10000", "200000"})
+    private int size;
+
+    @Param({"Estudiante", "Invitado"})
+    private String type;
+
+    private EventRegistry registry;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData.silence();
+        registry = new EventRegistry();
+        registry.registerAll(BenchmarkData.participants(size));
+    }
+
+    @Benchmark
+    public int typeIndex() {
+        return registry.getParticipantsByType(type).size();
+    }
+
+    @Benchmark
+    public int linearScan() {
+        List<Participant> filtered = new ArrayList<>();
+        for (Participant p : registry.getAllParticipants()) {
+            if (p.getType().equalsIgnoreCase(type)) {
+                filtered.add(p);
+            }
+        }
+        return filtered.size();
+    }
+}
@@ -3,7 +3,9 @@ package com.app;
 import com.app.generics.EventRegistry;
 import com.app.generics.GenericsDemo;
 import com.app.generics.ParticipantManager;
+import com.app.model.MoneyTotal;
 import com.app.model.Participant;
+import com.app.model.ParticipantStatistics;
 import com.app.model.Presenter;
 import com.app.organizers.CommissionMember;
 import com.app.organizers.OrganizerCommission;
@@ -85,7 +87,7 @@ public class App {
         // 2. Demostrar COVARIANZA con EventRegistry
         System.out.println("\n" + "─".repeat(70));
         System.out.println("📊 PASO 2: COVARIANZA - Registro flexible de participantes\n");
-        demonstrateCovariance(students, teachers, administratives, 
+        EventRegistry registry = demonstrateCovariance(students, teachers, administratives, 
                              nationalPresenters, internationalPresenters, guests);
         
         // 3. Demostrar CONTRAVARIANZA con ParticipantManager
@@ -96,9 +98,7 @@ public class App {
         // 4. Mostrar estadísticas finales
         System.out.println("\n" + "─".repeat(70));
         System.out.println("📈 PASO 4: Estadísticas del Seminario\n");
-        displayStatistics(students, teachers, administratives, 
-                         nationalPresenters, internationalPresenters, 
-                         guests, commission);
+        displayStatistics(registry.getStatistics(), commission);
         
         // 5. Demostrar presentaciones
         System.out.println("\n" + "─".repeat(70));
@@ -108,7 +108,7 @@ public class App {
         // 6. Procesar pagos de participantes
         System.out.println("\n" + "─".repeat(70));
         System.out.println("💰 PASO 6: Procesamiento de Pagos de Participantes\n");
-        processParticipantPayments(students, teachers, administratives, guests);
+        processParticipantPayments(students, teachers, administratives, guests, registry.getStatistics());
     }
     
     /**
@@ -234,7 +234,7 @@ public class App {
     /**
      * Demuestra COVARIANZA usando EventRegistry
      */
-    private static void demonstrateCovariance(List<Student> students,
+    private static EventRegistry demonstrateCovariance(List<Student> students,
                                              List<Teacher> teachers,
                                              List<Administrative> admins,
                                              List<NationalPresenter> nationalPresenters,
@@ -264,6 +264,7 @@ public class App {
         
         System.out.println("\n🔹 Procesando ponentes con List<? extends Presenter>:");
         registry.printPresenters(allPresenters);
+        return registry;
     }
     
     /**
@@ -304,29 +305,25 @@ public class App {
     
     /**
      * Muestra estadísticas del seminario
+     * 
+     * Los conteos salen de las estadísticas del registro, que se mantienen
+     * al registrar: no se recorre ninguna lista
      */
-    private static void displayStatistics(List<Student> students,
-                                         List<Teacher> teachers,
-                                         List<Administrative> admins,
-                                         List<NationalPresenter> nationalPresenters,
-                                         List<InternationalPresenter> intlPresenters,
-                                         List<Guest> guests,
+    private static void displayStatistics(ParticipantStatistics stats,
                                          OrganizerCommission commission) {
-        int totalParticipants = students.size() + teachers.size() + admins.size() +
-                               nationalPresenters.size() + intlPresenters.size() +
-                               guests.size() + commission.getMembers().size();
+        long totalParticipants = stats.getCount() + commission.getMembers().size();
         
         System.out.println("╔════════════════════════════════════════════════════════════╗");
         System.out.println("║           ESTADÍSTICAS DEL SEMINARIO                       ║");
         System.out.println("╠════════════════════════════════════════════════════════════╣");
         System.out.println("║ Total de Participantes: " + String.format("%-32s", totalParticipants) + "║");
         System.out.println("╠════════════════════════════════════════════════════════════╣");
-        System.out.println("║ • Estudiantes:                  " + String.format("%-25s", students.size()) + "║");
-        System.out.println("║ • Docentes:                     " + String.format("%-25s", teachers.size()) + "║");
-        System.out.println("║ • Administrativos:              " + String.format("%-25s", admins.size()) + "║");
-        System.out.println("║ • Ponentes Nacionales:          " + String.format("%-25s", nationalPresenters.size()) + "║");
-        System.out.println("║ • Ponentes Internacionales:     " + String.format("%-25s", intlPresenters.size()) + "║");
-        System.out.println("║ • Invitados Especiales:         " + String.format("%-25s", guests.size()) + "║");
+        System.out.println("║ • Estudiantes:                  " + String.format("%-25s", stats.getCount("Estudiante")) + "║");
+        System.out.println("║ • Docentes:                     " + String.format("%-25s", stats.getCount("Docente")) + "║");
+        System.out.println("║ • Administrativos:              " + String.format("%-25s", stats.getCount("Administrativo")) + "║");
+        System.out.println("║ • Ponentes Nacionales:          " + String.format("%-25s", stats.getCount("Ponente Nacional")) + "║");
+        System.out.println("║ • Ponentes Internacionales:     " + String.format("%-25s", stats.getCount("Ponente Internacional")) + "║");
+        System.out.println("║ • Invitados Especiales:         " + String.format("%-25s", stats.getCount("Invitado")) + "║");
         System.out.println("║ • Comisión Organizadora:        " + String.format("%-25s", commission.getMembers().size()) + "║");
         System.out.println("╚════════════════════════════════════════════════════════════╝");
     }
@@ -355,7 +352,8 @@ public class App {
     private static void processParticipantPayments(List<Student> students,
                                                    List<Teacher> teachers,
                                                    List<Administrative> admins,
-                                                   List<Guest> guests) {
+                                                   List<Guest> guests,
+                                                   ParticipantStatistics stats) {
         System.out.println("💳 Registrando pagos de participantes...\n");
         
         // Crear pagos para estudiantes
@@ -384,22 +382,16 @@ public class App {
         admins.get(1).addPayment(new CardPayment(60.0, admins.get(1).getName(), 
                 "VISA", "3782", admins.get(1).getName()));
         
-        // Recopilar todos los pagos
-        List<PaymentMethod> allPayments = new ArrayList<>();
-        
-        for (Student s : students) {
-            allPayments.addAll(s.getPaymentMethods());
-        }
-        for (Teacher t : teachers) {
-            allPayments.addAll(t.getPaymentMethods());
-        }
-        for (Administrative a : admins) {
-            allPayments.addAll(a.getPaymentMethods());
-        }
+        // Participantes cuyos pagos entran en el reporte: los pagos se recorren
+        // en su lugar con forEachPayment, sin copiarlos a otra lista
+        List<Participant> payers = new ArrayList<>(students.size() + teachers.size() + admins.size());
+        payers.addAll(students);
+        payers.addAll(teachers);
+        payers.addAll(admins);
         
         // Procesar pagos usando covarianza
         PaymentProcessor processor = new PaymentProcessor();
-        processor.generateReport(allPayments);
+        processor.generateParticipantReport(payers);
         
         // Mostrar estado de pagos
         System.out.println("\n📋 Estado de Pagos por Participante:\n");
@@ -419,14 +411,18 @@ public class App {
             System.out.println("   • " + a.getName() + ": " + a.getPaymentInfo());
         }
         
-        // Estadísticas
-        long fullyPaid = students.stream().filter(Participant::hasFullyPaid).count() +
-                        teachers.stream().filter(Participant::hasFullyPaid).count() +
-                        admins.stream().filter(Participant::hasFullyPaid).count();
+        // Estadísticas: addPayment ya actualizó los contadores del registro
+        long fullyPaid = stats.getFullyPaidCount("Estudiante") +
+                        stats.getFullyPaidCount("Docente") +
+                        stats.getFullyPaidCount("Administrativo");
+        // Se suman céntimos y se convierte una sola vez, al mostrar
+        MoneyTotal collected = new MoneyTotal()
+                .add(stats.getRevenueCents("Estudiante"))
+                .add(stats.getRevenueCents("Docente"))
+                .add(stats.getRevenueCents("Administrativo"));
         
         System.out.println("\n✅ Participantes con pago completo: " + fullyPaid);
-        System.out.println("💰 Total recaudado: S/ " + String.format("%.2f", 
-                allPayments.stream().mapToDouble(PaymentMethod::getAmount).sum()));
+        System.out.println("💰 Total recaudado: S/ " + String.format("%.2f", collected.toDouble()));
     }
     
     /**
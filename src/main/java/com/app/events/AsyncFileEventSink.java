@@ -0,0 +1,231 @@
+package com.app.events;
+
+import com.app.model.Participant;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * AsyncFileEventSink - Escribe los eventos en un archivo desde un hilo propio
+ *
+ * emit() solo reserva una posición en un buffer circular y guarda el tipo y
+ * el participante: no formatea, no toma candados y no hace E/S. Un hilo
+ * escritor recorre el buffer, arma las líneas (el mismo texto que la consola)
+ * y las escribe en el FileChannel por lotes de hasta WRITE_BUFFER_SIZE bytes.
+ *
+ * Buffer circular con varios productores:
+ * - Cada productor reserva una secuencia con un contador atómico
+ * - Si el buffer está lleno espera al escritor (contrapresión, nunca pierde eventos)
+ * - Publica el slot escribiendo su secuencia en 'published'
+ * - close() espera a los productores en vuelo: cada emit() se anota en un
+ *   contador antes de mirar 'closed', y el escritor solo termina cuando el
+ *   sink está cerrado, el contador está en cero y ya escribió todo lo
+ *   reservado. Un emit() o bien ve el cierre y falla, o bien su evento llega
+ *   al archivo; nunca se pierde en silencio.
+ *
+ * Cada slot guarda el participante, o el Integer con la cantidad de un evento
+ * de resumen. Los participantes se leen al escribir, no al emitir: si cambian entre una
+ * cosa y otra, la línea refleja el valor nuevo.
+ */
+public final class AsyncFileEventSink implements EventSink {
+
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+    private static final long IDLE_PARK_NANOS = 50_000;
+
+    private final EventType[] types;
+    private final Object[] payloads; // Participant, o Integer para emitSummary
+    private final AtomicLongArray published; // Secuencia publicada en cada slot
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong(); // Próxima secuencia a reservar
+    private final AtomicInteger inFlight = new AtomicInteger(); // Productores dentro de publish()
+    private volatile long written; // Todas las secuencias menores ya están en el archivo
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    private final FileChannel channel;
+    private final Thread writer;
+
+    public AsyncFileEventSink(Path file) throws IOException {
+        this(file, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param file     archivo de destino (se crea si no existe y se agrega al final)
+     * @param capacity eventos en vuelo como máximo, potencia de 2
+     */
+    public AsyncFileEventSink(Path file, int capacity) throws IOException {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("La capacidad debe ser una potencia de 2: " + capacity);
+        }
+        this.types = new EventType[capacity];
+        this.payloads = new Object[capacity];
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+        this.mask = capacity - 1;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.writer = new Thread(this::drain, "async-event-sink");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void emit(EventType type, Participant participant) {
+        publish(type, participant);
+    }
+
+    @Override
+    public void emitSummary(EventType type, int count) {
+        publish(type, count);
+    }
+
+    private void publish(EventType type, Object payload) {
+        // Anotarse antes de mirar 'closed': close() no termina mientras haya alguien acá
+        inFlight.incrementAndGet();
+        try {
+            if (closed) {
+                throw new IllegalStateException("El sink de eventos está cerrado");
+            }
+            long sequence = claimed.getAndIncrement();
+            while (sequence - written > mask) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS); // Buffer lleno: esperar al escritor
+            }
+            int slot = (int) sequence & mask;
+            types[slot] = type;
+            payloads[slot] = payload;
+            published.lazySet(slot, sequence);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Espera a que todos los eventos emitidos antes de la llamada estén en el archivo
+     *
+     * @throws UncheckedIOException si el escritor falló
+     */
+    @Override
+    public void flush() {
+        long target = claimed.get();
+        while (written < target && writer.isAlive()) {
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        checkFailure();
+    }
+
+    /**
+     * Escribe los eventos pendientes y cierra el archivo
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+        checkFailure();
+    }
+
+    /**
+     * Eventos ya escritos en el archivo
+     */
+    public long getWrittenCount() {
+        return written;
+    }
+
+    private void checkFailure() {
+        if (failure != null) {
+            throw new UncheckedIOException("No se pudieron escribir los eventos", failure);
+        }
+    }
+
+    // Hilo escritor
+
+    private void drain() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+        StringBuilder line = new StringBuilder(128);
+        long next = 0;
+        while (true) {
+            int slot = (int) next & mask;
+            long start = next;
+            while (published.get(slot) == next) {
+                line.setLength(0);
+                if (payloads[slot] instanceof Participant participant) {
+                    types[slot].appendTo(line, participant);
+                } else {
+                    types[slot].appendSummaryTo(line, (Integer) payloads[slot]);
+                }
+                line.append('\n');
+                payloads[slot] = null;
+                put(buffer, line.toString().getBytes(StandardCharsets.UTF_8));
+                next++;
+                slot = (int) next & mask;
+            }
+            if (next > start) {
+                writeOut(buffer);
+                written = next;
+            } else if (closed && inFlight.get() == 0 && next >= claimed.get()) {
+                return; // Nadie más puede reservar y todo lo reservado está escrito
+            } else {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private void put(ByteBuffer buffer, byte[] bytes) {
+        if (bytes.length > buffer.remaining()) {
+            writeOut(buffer);
+        }
+        if (bytes.length > buffer.capacity()) {
+            write(ByteBuffer.wrap(bytes));
+        } else {
+            buffer.put(bytes);
+        }
+    }
+
+    private void writeOut(ByteBuffer buffer) {
+        buffer.flip();
+        write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Tras un error se siguen consumiendo eventos (sin escribirlos) para que
+     * los productores no queden bloqueados; el error se informa en flush/close
+     */
+    private void write(ByteBuffer bytes) {
+        if (failure != null) {
+            return;
+        }
+        try {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+}
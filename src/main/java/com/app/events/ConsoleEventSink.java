@@ -0,0 +1,26 @@
+package com.app.events;
+
+import com.app.model.Participant;
+
+/**
+ * ConsoleEventSink - Imprime cada evento en System.out, una línea por evento
+ *
+ * Es el comportamiento original de la aplicación y el sink por defecto.
+ */
+public final class ConsoleEventSink implements EventSink {
+
+    public static final ConsoleEventSink INSTANCE = new ConsoleEventSink();
+
+    private ConsoleEventSink() {
+    }
+
+    @Override
+    public void emit(EventType type, Participant participant) {
+        System.out.println(type.format(participant));
+    }
+
+    @Override
+    public void emitSummary(EventType type, int count) {
+        System.out.println(type.formatSummary(count));
+    }
+}
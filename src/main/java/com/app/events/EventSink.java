@@ -0,0 +1,41 @@
+package com.app.events;
+
+import com.app.model.Participant;
+
+/**
+ * EventSink - Destino de los eventos de registro
+ *
+ * Los bucles de registro y transferencia emiten un evento por elemento en lugar
+ * de imprimir una línea formateada. El sink instalado en EventSinks decide qué
+ * hacer con ellos:
+ * - ConsoleEventSink: imprime la misma línea que antes (por defecto)
+ * - NoOpEventSink: los descarta, para cargas masivas
+ * - AsyncFileEventSink: los encola y un hilo los escribe por lotes en un archivo
+ *
+ * emit() puede llamarse desde varios hilos a la vez.
+ */
+public interface EventSink extends AutoCloseable {
+
+    void emit(EventType type, Participant participant);
+
+    /**
+     * Un único evento de resumen para una operación masiva de 'count' elementos
+     * (las variantes *Bulk de ParticipantManager)
+     *
+     * Por defecto se descarta, así los sinks que solo implementan emit() siguen
+     * compilando; ConsoleEventSink y AsyncFileEventSink lo escriben.
+     */
+    default void emitSummary(EventType type, int count) {
+    }
+
+    /**
+     * Espera a que los eventos emitidos hasta ahora estén escritos
+     */
+    default void flush() {
+    }
+
+    @Override
+    default void close() {
+        flush();
+    }
+}
@@ -0,0 +1,28 @@
+package com.app.events;
+
+/**
+ * EventSinks - Sink de eventos en uso por la aplicación
+ *
+ * Participant.register(), EventRegistry y ParticipantManager emiten a través
+ * de current(). Por defecto es ConsoleEventSink.
+ */
+public final class EventSinks {
+
+    private static volatile EventSink current = ConsoleEventSink.INSTANCE;
+
+    private EventSinks() {
+    }
+
+    public static EventSink current() {
+        return current;
+    }
+
+    /**
+     * Instala un sink y devuelve el anterior (que no se cierra)
+     */
+    public static EventSink install(EventSink sink) {
+        EventSink previous = current;
+        current = sink == null ? NoOpEventSink.INSTANCE : sink;
+        return previous;
+    }
+}
@@ -0,0 +1,68 @@
+package com.app.events;
+
+import com.app.model.Participant;
+
+/**
+ * EventType - Eventos que emiten los bucles de registro y transferencia
+ *
+ * Cada tipo sabe escribir su línea de texto, y la de resumen de un lote; los
+ * sinks deciden cuándo y dónde hacerlo. Así el bucle que emite no arma ningún String.
+ */
+public enum EventType {
+    PARTICIPANT_REGISTERED {
+        @Override
+        public void appendTo(StringBuilder out, Participant p) {
+            out.append("[REGISTRO] ").append(p.getType()).append(" registrado: ").append(p.getName());
+        }
+
+        @Override
+        public void appendSummaryTo(StringBuilder out, int count) {
+            out.append("[REGISTRO] ").append(count).append(" participantes registrados");
+        }
+    },
+    STUDENT_TRANSFERRED {
+        @Override
+        public void appendTo(StringBuilder out, Participant p) {
+            out.append("  ✅ Transferido: ").append(p.getName());
+        }
+
+        @Override
+        public void appendSummaryTo(StringBuilder out, int count) {
+            out.append("  ✅ Transferidos: ").append(count).append(" estudiantes");
+        }
+    },
+    PARTICIPANT_TRANSFERRED {
+        @Override
+        public void appendTo(StringBuilder out, Participant p) {
+            out.append("  ✅ Transferido: ").append(p.getType()).append(" - ").append(p.getName());
+        }
+
+        @Override
+        public void appendSummaryTo(StringBuilder out, int count) {
+            out.append("  ✅ Transferidos: ").append(count).append(" participantes");
+        }
+    };
+
+    /**
+     * Escribe la línea del evento (sin salto de línea)
+     */
+    public abstract void appendTo(StringBuilder out, Participant participant);
+
+    /**
+     * Escribe la línea de resumen de una operación masiva: un solo evento por
+     * lote en lugar de uno por participante (sin salto de línea)
+     */
+    public abstract void appendSummaryTo(StringBuilder out, int count);
+
+    public String format(Participant participant) {
+        StringBuilder out = new StringBuilder(64);
+        appendTo(out, participant);
+        return out.toString();
+    }
+
+    public String formatSummary(int count) {
+        StringBuilder out = new StringBuilder(48);
+        appendSummaryTo(out, count);
+        return out.toString();
+    }
+}
@@ -0,0 +1,18 @@
+package com.app.events;
+
+import com.app.model.Participant;
+
+/**
+ * NoOpEventSink - Descarta todos los eventos
+ */
+public final class NoOpEventSink implements EventSink {
+
+    public static final NoOpEventSink INSTANCE = new NoOpEventSink();
+
+    private NoOpEventSink() {
+    }
+
+    @Override
+    public void emit(EventType type, Participant participant) {
+    }
+}
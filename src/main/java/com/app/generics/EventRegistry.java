@@ -1,10 +1,32 @@
 package com.app.generics;
 
+import com.app.model.AttributeDictionary;
 import com.app.model.Participant;
+import com.app.model.ParticipantStatistics;
+import com.app.model.ParticipantView;
 import com.app.model.Presenter;
+import com.app.storage.ParticipantJournal;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * EventRegistry - Demostración de COVARIANZA en Java
@@ -16,10 +38,116 @@ import java.util.List;
  */
 public class EventRegistry {
     
-    private List<Participant> allParticipants;
+    /**
+     * Tamaño de bloque para el registro en streaming
+     */
+    public static final int STREAM_CHUNK_SIZE = 1024;
+    
+    /**
+     * Qué hacer cuando llega un participante cuyo id o email ya está registrado
+     */
+    public enum DuplicatePolicy {
+        REJECT,         // Se ignora el nuevo registro
+        REPLACE,        // El nuevo registro reemplaza al existente
+        MERGE_PAYMENTS  // Se conserva el existente y se le agregan los pagos del nuevo
+    }
+    
+    /**
+     * Estadísticas del filtro previo de duplicados
+     * 
+     * @param checks                    registros que pasaron por el filtro
+     * @param skippedProbes             registros nuevos seguros que no consultaron los índices exactos
+     * @param falsePositives            registros nuevos que el filtro marcó como posibles duplicados
+     * @param expectedFalsePositiveRate tasa teórica con el llenado actual del filtro
+     * @param observedFalsePositiveRate falsos positivos / registros nuevos vistos
+     * @param memoryBytes               memoria ocupada por los bits del filtro
+     */
+    public record PrecheckStats(long checks, long skippedProbes, long falsePositives,
+                                double expectedFalsePositiveRate, double observedFalsePositiveRate,
+                                long memoryBytes) {
+
+        /**
+         * Registros que el filtro marcó como posibles duplicados y consultaron
+         * los índices exactos (duplicados reales más falsos positivos)
+         */
+        public long probable() {
+            return checks - skippedProbes;
+        }
+    }
+    
+    private static final Integer PENDING = -1; // Posición de un id reservado que aún no se publica
+    private static final Object NULL_ID = new Object(); // Clave de los participantes sin id
+    private static final int CLAIM_STRIPES = 64;
+    
+    /**
+     * Resultado de agregar un bloque
+     * 
+     * @param added      cantidad de registros nuevos
+     * @param registered los que quedaron en el registro (nuevos y reemplazos),
+     *                   en el orden del bloque: solo ellos se anuncian
+     */
+    record Committed(int added, List<Participant> registered) {
+        static final Committed NONE = new Committed(0, List.of());
+        
+        void announce() {
+            for (Participant p : registered) {
+                p.register();
+            }
+        }
+    }
+    
+    /**
+     * Qué pasó con un participante al agregarlo
+     */
+    private enum Outcome {
+        ADDED,        // Registro nuevo
+        REPLACED,     // Reemplazó a uno existente (REPLACE)
+        KEPT_EXISTING // Se conservó el existente (REJECT, MERGE_PAYMENTS o conflicto)
+    }
+    
+    // Vectores persistentes: cada lectura es una foto inmutable que cuesta O(1)
+    private volatile PersistentVector<Participant> allParticipants;
+    private final Map<String, PersistentVector<Participant>> participantsByType; // Índice por tipo (clave normalizada)
+    private final Map<Object, Integer> positionById; // idKey -> posición en allParticipants
+    private final RegistrationOrder order; // Búsqueda por posición dentro de los buckets
+    private final Map<String, Object> idByEmail; // email normalizado -> idKey
+    private DuplicatePolicy duplicatePolicy;
+    private ParticipantJournal journal; // null si el registro no es durable
+    private final List<Index<?, ?>> indexes; // Índices secundarios registrados
+    private volatile NameSearchIndex nameIndex; // Se crea con la primera búsqueda
+    private ScalableBloomFilter precheck; // Ids y emails vistos; null si no está activado
+    private long precheckCount, skippedProbes, falsePositives;
+    private final ParticipantStatistics statistics; // Conteos y recaudación al vuelo
+    private final ReadWriteLock lock; // null en modo de un solo hilo
+    private final Object[] claimStripes; // Candados por franja de claves; null en modo de un solo hilo
+    private final Object publishLock = new Object(); // Publicación de los registros concurrentes
     
     public EventRegistry() {
-        this.allParticipants = new ArrayList<>();
+        this(false);
+    }
+    
+    /**
+     * @param threadSafe si es true, varios hilos pueden llamar a registerAll
+     *                   y addParticipant a la vez sin perder registros. Con
+     *                   REJECT y sin diario ni filtro previo los productores
+     *                   avanzan en paralelo (ver commitConcurrently); con
+     *                   REPLACE, MERGE_PAYMENTS o en modo durable cada bloque
+     *                   toma el candado de escritura.
+     */
+    public EventRegistry(boolean threadSafe) {
+        this.allParticipants = PersistentVector.empty();
+        this.participantsByType = threadSafe ? new ConcurrentHashMap<>() : new HashMap<>();
+        this.positionById = threadSafe ? new ConcurrentHashMap<>() : new HashMap<>();
+        this.order = new RegistrationOrder(this::position);
+        this.idByEmail = threadSafe ? new ConcurrentHashMap<>() : new HashMap<>();
+        this.duplicatePolicy = DuplicatePolicy.REJECT;
+        this.indexes = new ArrayList<>();
+        this.statistics = new ParticipantStatistics();
+        this.lock = threadSafe ? new ReentrantReadWriteLock() : null;
+        this.claimStripes = threadSafe ? new Object[CLAIM_STRIPES] : null;
+        if (threadSafe) {
+            Arrays.setAll(claimStripes, i -> new Object());
+        }
     }
     
     /**
@@ -70,15 +198,27 @@ public class EventRegistry {
     public List<? extends Participant> getParticipantsByType(String type) {
         System.out.println("\n=== COVARIANZA - Filtrando por tipo: " + type + " ===");
         
-        List<Participant> filtered = new ArrayList<>();
-        for (Participant p : allParticipants) {
-            if (p.getType().equalsIgnoreCase(type)) {
-                filtered.add(p);
-            }
-        }
+        // El índice por tipo se mantiene al registrar, así que no recorremos
+        // allParticipants ni creamos una copia filtrada: devolvemos una vista
+        // de solo lectura del bucket correspondiente
+        // El bucket es un vector persistente: se entrega tal cual, sin copiar,
+        // y no cambia aunque se sigan registrando participantes
+        List<Participant> filtered = typeBucket(type);
         
         System.out.println("Encontrados: " + filtered.size() + " participantes de tipo " + type);
-        return filtered; // Retornamos List<Participant> que es subtipo de List<? extends Participant>
+        return filtered; // List<Participant> es subtipo de List<? extends Participant>
+    }
+    
+    /**
+     * Bucket de un tipo sin imprimir nada (lo usa PartitionedEventRegistry)
+     */
+    List<Participant> typeBucket(String type) {
+        lockRead();
+        try {
+            return participantsByType.getOrDefault(normalizeType(type), PersistentVector.empty());
+        } finally {
+            unlockRead();
+        }
     }
     
     /**
@@ -91,15 +231,282 @@ public class EventRegistry {
         System.out.println("\n=== COVARIANZA - Registro masivo ===");
         System.out.println("Registrando " + participants.size() + " participantes...");
         
-        for (Participant p : participants) {
-            // LECTURA: Podemos leer y tratar cada elemento como Participant
-            p.register();
-            allParticipants.add(p); // Agregamos a nuestra lista interna
-        }
+        // El lote completo se agrega con una sola adquisición del candado,
+        // así los hilos productores solo compiten por el append y no por register()
+        Committed committed = commit(participants);
+        int duplicates = participants.size() - committed.added();
+        
+        // LECTURA: cada elemento se lee como Participant. Los eventos se emiten
+        // después de agregar el lote y solo para los que quedaron registrados:
+        // un duplicado rechazado no se anuncia, y si el lote entero se rechaza
+        // (por ejemplo, el diario no lo puede guardar) no se anuncia nada
+        committed.announce();
         
+        if (duplicates > 0) {
+            System.out.println("Duplicados detectados (" + duplicatePolicy + "): " + duplicates);
+        }
         System.out.println("Total de participantes registrados: " + allParticipants.size());
     }
     
+    /**
+     * COVARIANZA - Registro masivo en streaming desde un Iterator
+     * 
+     * '? extends Participant' permite recibir un Iterator<Student>, Iterator<Teacher>, etc.
+     * Los elementos se leen y registran en bloques de STREAM_CHUNK_SIZE, por lo que
+     * nunca hace falta tener el lote completo en memoria.
+     * 
+     * @return cantidad de participantes agregados como registros nuevos
+     */
+    public int registerAll(Iterator<? extends Participant> participants) {
+        System.out.println("\n=== COVARIANZA - Registro masivo en streaming ===");
+        
+        List<Participant> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+        int read = 0;
+        int added = 0;
+        while (participants.hasNext()) {
+            chunk.add(participants.next());
+            read++;
+            if (chunk.size() == STREAM_CHUNK_SIZE) {
+                added += commitAndRegister(chunk);
+                chunk.clear();
+            }
+        }
+        added += commitAndRegister(chunk);
+        
+        if (read > added) {
+            System.out.println("Duplicados detectados (" + duplicatePolicy + "): " + (read - added));
+        }
+        System.out.println("Leídos " + read + " participantes. Total de participantes registrados: "
+                + allParticipants.size());
+        return added;
+    }
+    
+    /**
+     * COVARIANZA - Registro masivo en streaming desde un Stream
+     * 
+     * El Stream se consume de forma perezosa a través de su iterador
+     * 
+     * @return cantidad de participantes agregados como registros nuevos
+     */
+    public int registerAll(Stream<? extends Participant> participants) {
+        return registerAll(participants.iterator());
+    }
+    
+    /**
+     * COVARIANZA - Registro masivo desde un Flow.Publisher con contrapresión
+     * 
+     * Se piden STREAM_CHUNK_SIZE elementos, se registran como un bloque y solo
+     * entonces se pide el siguiente bloque: el publicador nunca puede adelantarse
+     * más de un bloque, y la memoria usada no depende del tamaño de la entrada.
+     * Los elementos llegan en el hilo del publicador: si el registro se usa a la
+     * vez desde otros hilos, debe crearse en modo thread-safe.
+     * 
+     * @return futuro que se completa con la cantidad de registros nuevos
+     *         cuando el publicador termina
+     */
+    public CompletableFuture<Integer> registerAll(Flow.Publisher<? extends Participant> publisher) {
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+        publisher.subscribe(new Flow.Subscriber<Participant>() {
+            private final List<Participant> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+            private Flow.Subscription subscription;
+            private int added;
+            
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(STREAM_CHUNK_SIZE);
+            }
+            
+            @Override
+            public void onNext(Participant p) {
+                chunk.add(p);
+                if (chunk.size() == STREAM_CHUNK_SIZE) {
+                    added += commitAndRegister(chunk);
+                    chunk.clear();
+                    subscription.request(STREAM_CHUNK_SIZE);
+                }
+            }
+            
+            @Override
+            public void onError(Throwable throwable) {
+                added += commitAndRegister(chunk);
+                chunk.clear();
+                result.completeExceptionally(throwable);
+            }
+            
+            @Override
+            public void onComplete() {
+                added += commitAndRegister(chunk);
+                chunk.clear();
+                result.complete(added);
+            }
+        });
+        return result;
+    }
+    
+    /**
+     * Agrega un bloque y después emite el evento de registro de los que
+     * quedaron registrados
+     */
+    private int commitAndRegister(List<? extends Participant> participants) {
+        Committed committed = commit(participants);
+        committed.announce();
+        return committed.added();
+    }
+    
+    /**
+     * Agrega un bloque de participantes con una sola adquisición del candado
+     * 
+     * En modo durable, primero se valida el bloque completo y se reserva su
+     * lugar en el diario, en partes de STREAM_CHUNK_SIZE: un participante que
+     * el diario no puede guardar rechaza el bloque entero sin cambiar nada, y
+     * un error de E/S al abrir un segmento deja registradas (y forzadas al
+     * disco) solo las partes anteriores.
+     * 
+     * @throws IllegalArgumentException si el diario no puede guardar algún participante
+     * @throws UncheckedIOException     si el diario no pudo abrir un segmento nuevo
+     */
+    Committed commit(List<? extends Participant> participants) {
+        if (participants.isEmpty()) {
+            return Committed.NONE;
+        }
+        if (lock != null) {
+            Committed committed = commitConcurrently(participants);
+            if (committed != null) {
+                return committed;
+            }
+        }
+        List<Participant> registered = new ArrayList<>(participants.size());
+        int added = 0;
+        lockWrite();
+        try {
+            if (journal == null) {
+                for (Participant p : participants) {
+                    added += indexInto(p, registered); // Agregamos a nuestra lista interna y a los índices
+                }
+                return new Committed(added, registered);
+            }
+            for (Participant p : participants) {
+                journal.checkWritable(p);
+            }
+            for (int from = 0; from < participants.size(); from += STREAM_CHUNK_SIZE) {
+                List<? extends Participant> part = participants.subList(from,
+                        Math.min(participants.size(), from + STREAM_CHUNK_SIZE));
+                reserveJournal(part);
+                for (Participant p : part) {
+                    added += indexInto(p, registered);
+                }
+            }
+            return new Committed(added, registered);
+        } finally {
+            try {
+                syncJournal(); // Group commit: un solo fsync por bloque (también si algo falló)
+            } finally {
+                unlockWrite();
+            }
+        }
+    }
+    
+    /**
+     * Registro concurrente: modo thread-safe con REJECT, sin diario ni filtro previo
+     * 
+     * Los productores avanzan a la vez con el candado de LECTURA, que solo los
+     * excluye de los cambios de configuración y de los caminos exclusivos
+     * (REPLACE, MERGE_PAYMENTS, modo durable). Cada participante reserva su id
+     * y su email en los mapas concurrentes bajo el candado de la franja de esas
+     * claves, así que dos productores solo se esperan si sus claves caen en la
+     * misma franja. Normalizar emails, detectar duplicados, agrupar por tipo y
+     * actualizar las estadísticas ocurre en paralelo; lo único serializado es
+     * la publicación del bloque aceptado (publish).
+     * 
+     * @return el resultado, o null si hace falta el camino exclusivo
+     */
+    private Committed commitConcurrently(List<? extends Participant> participants) {
+        lock.readLock().lock();
+        try {
+            if (duplicatePolicy != DuplicatePolicy.REJECT || journal != null || precheck != null) {
+                return null;
+            }
+            List<Participant> accepted = new ArrayList<>(participants.size());
+            for (Participant p : participants) {
+                if (claim(p)) {
+                    accepted.add(p);
+                }
+            }
+            if (accepted.isEmpty()) {
+                return Committed.NONE;
+            }
+            Map<String, List<Participant>> byType = new HashMap<>();
+            for (Participant p : accepted) {
+                byType.computeIfAbsent(typeKey(p), type -> new ArrayList<>()).add(p);
+            }
+            publish(accepted, byType);
+            for (Participant p : accepted) {
+                statistics.add(p);
+            }
+            return new Committed(accepted.size(), accepted);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Reserva el id y el email del participante, con posición PENDING
+     * 
+     * Las dos franjas se toman siempre en el mismo orden, así dos hilos nunca
+     * se esperan mutuamente. Dentro de ellas, comprobar y reservar ambas claves
+     * es atómico: un participante rechazado por su email no deja su id
+     * reservado ni por un instante.
+     * 
+     * @return false si el id o el email ya estaban registrados o reservados
+     */
+    private boolean claim(Participant participant) {
+        Object key = idKey(participant.getId());
+        String email = participant.getEmail() == null ? null : normalizeEmail(participant.getEmail());
+        int first = stripe(key);
+        int second = email == null ? first : stripe(email);
+        synchronized (claimStripes[Math.min(first, second)]) {
+            synchronized (claimStripes[Math.max(first, second)]) {
+                if (positionById.containsKey(key) || (email != null && idByEmail.containsKey(email))) {
+                    return false;
+                }
+                positionById.put(key, PENDING);
+                if (email != null) {
+                    idByEmail.put(email, key);
+                }
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Agrega al registro un bloque ya reservado por claim
+     * 
+     * Primero el vector y las posiciones, después los buckets: quien lee un
+     * bucket siempre encuentra la posición de todos sus miembros. Los buckets
+     * quedan en orden de registro porque las posiciones se asignan aquí, bajo
+     * el mismo candado.
+     */
+    private void publish(List<Participant> accepted, Map<String, List<Participant>> byType) {
+        synchronized (publishLock) {
+            int base = allParticipants.size();
+            allParticipants = allParticipants.plusAll(accepted);
+            for (int i = 0; i < accepted.size(); i++) {
+                positionById.put(idKey(accepted.get(i).getId()), base + i);
+            }
+            byType.forEach((type, members) -> participantsByType.put(type,
+                    participantsByType.getOrDefault(type, PersistentVector.empty()).plusAll(members)));
+            for (Participant p : accepted) {
+                for (Index<?, ?> index : indexes) {
+                    index.add(p);
+                }
+                if (nameIndex != null) {
+                    nameIndex.add(p);
+                }
+            }
+        }
+    }
+    
     /**
      * COVARIANZA - Ejemplo 4: Comparar listas
      * 
@@ -122,16 +529,632 @@ public class EventRegistry {
     
     /**
      * Método auxiliar para agregar participantes a la lista interna
+     * 
+     * @return false si el participante era un duplicado (se aplicó la política de duplicados)
+     */
+    public boolean addParticipant(Participant participant) {
+        if (lock != null) {
+            Committed committed = commitConcurrently(List.of(participant));
+            if (committed != null) {
+                return committed.added() == 1;
+            }
+        }
+        lockWrite();
+        try {
+            if (journal != null) {
+                journal.checkWritable(participant);
+                reserveJournal(List.of(participant));
+            }
+            boolean added = index(participant) == Outcome.ADDED;
+            syncJournal();
+            return added;
+        } finally {
+            unlockWrite();
+        }
+    }
+    
+    /**
+     * Activa el modo durable
+     * 
+     * Primero reconstruye el registro leyendo el diario (con todas las subclases
+     * de Participant) y luego agrega al diario cada registro nuevo o reemplazo.
+     * 
+     * @return cantidad de entradas del diario que se volvieron a aplicar
+     */
+    public int attachJournal(ParticipantJournal journal) throws IOException {
+        lockWrite();
+        try {
+            if (this.journal != null) {
+                throw new IllegalStateException("El registro ya tiene un diario asociado");
+            }
+            // Se reaplica con REPLACE para que los reemplazos del diario ganen
+            DuplicatePolicy policy = duplicatePolicy;
+            duplicatePolicy = DuplicatePolicy.REPLACE;
+            int[] replayed = {0};
+            try {
+                journal.replay(p -> {
+                    index(p);
+                    replayed[0]++;
+                });
+            } finally {
+                duplicatePolicy = policy;
+            }
+            this.journal = journal;
+            System.out.println("[DIARIO] Restauradas " + replayed[0] + " entradas desde " + journal.getDirectory());
+            return replayed[0];
+        } finally {
+            unlockWrite();
+        }
+    }
+    
+    /**
+     * Busca un participante por su id en O(1)
+     */
+    public Optional<Participant> findById(String id) {
+        lockRead();
+        try {
+            return published(positionById.get(idKey(id)));
+        } finally {
+            unlockRead();
+        }
+    }
+    
+    /**
+     * Busca un participante por su email (sin distinguir mayúsculas ni espacios) en O(1)
+     */
+    public Optional<Participant> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        lockRead();
+        try {
+            Object key = idByEmail.get(normalizeEmail(email));
+            return key == null ? Optional.empty() : published(positionById.get(key));
+        } finally {
+            unlockRead();
+        }
+    }
+    
+    /**
+     * Crea un índice hash mantenido automáticamente
+     * 
+     * Ejemplo: registry.createIndex(Teacher.class, Teacher::getInstitution)
+     * y luego index.get("Universidad Nacional") devuelve List<? extends Teacher>.
+     * Se construye con los participantes ya registrados y se actualiza con
+     * cada registro posterior.
+     */
+    public <K, T extends Participant> Index<K, T> createIndex(Class<T> type,
+                                                             Function<? super T, ? extends K> keyExtractor) {
+        return addIndex(new Index<>(type, keyExtractor, null, order));
+    }
+    
+    /**
+     * Crea un índice ordenado por clave, que además admite consultas por rango
+     */
+    public <K, T extends Participant> Index<K, T> createSortedIndex(Class<T> type,
+                                                                   Function<? super T, ? extends K> keyExtractor,
+                                                                   Comparator<? super K> order) {
+        return addIndex(new Index<>(type, keyExtractor, order, this.order));
+    }
+    
+    private <K, T extends Participant> Index<K, T> addIndex(Index<K, T> index) {
+        lockWrite();
+        try {
+            for (Participant p : allParticipants) {
+                index.add(p);
+            }
+            indexes.add(index);
+            return index;
+        } finally {
+            unlockWrite();
+        }
+    }
+    
+    /**
+     * Página de participantes en orden de registro
+     * 
+     * @param cursor 0 para la primera página, luego page.nextCursor()
+     * @param limit  tamaño máximo de la página
+     */
+    public Page<Participant> getParticipants(int cursor, int limit) {
+        return page(allParticipants, cursor, limit);
+    }
+    
+    /**
+     * Página de participantes de un tipo, en orden de registro
+     * 
+     * El cursor es una posición de registro global (como en getParticipants) y
+     * no un índice dentro del bucket: si entre dos páginas un REPLACE cambia a
+     * alguien de tipo, los índices del bucket se corren pero las posiciones
+     * no, así que la página siguiente no repite ni saltea a nadie.
+     * 
+     * @param cursor 0 para la primera página, luego page.nextCursor()
+     */
+    public Page<Participant> getParticipantsByType(String type, int cursor, int limit) {
+        if (cursor < 0 || limit <= 0) {
+            throw new IllegalArgumentException("Cursor o límite inválido: " + cursor + ", " + limit);
+        }
+        lockRead();
+        try {
+            PersistentVector<Participant> bucket =
+                    participantsByType.getOrDefault(normalizeType(type), PersistentVector.empty());
+            // El bucket está ordenado por posición de registro: búsqueda binaria del cursor
+            int from = order.search(bucket, cursor);
+            if (from < 0) {
+                from = -from - 1;
+            }
+            int to = (int) Math.min((long) from + limit, bucket.size());
+            int next = to < bucket.size() ? position(bucket.get(to)) : -1;
+            return new Page<>(bucket.subList(from, to), next);
+        } finally {
+            unlockRead();
+        }
+    }
+    
+    /**
+     * Los n registros más recientes, del más nuevo al más antiguo
+     */
+    public List<Participant> getLatestRegistrations(int n) {
+        PersistentVector<Participant> snapshot = allParticipants;
+        int count = Math.min(Math.max(n, 0), snapshot.size());
+        List<Participant> latest = new ArrayList<>(count);
+        for (int i = snapshot.size() - 1; i >= snapshot.size() - count; i--) {
+            latest.add(snapshot.get(i));
+        }
+        return latest;
+    }
+    
+    /**
+     * Los n participantes con mayor saldo pendiente (tarifa menos lo pagado),
+     * de mayor a menor. Usa un heap de tamaño n en lugar de ordenar todo el registro.
+     */
+    public List<Participant> getTopOutstandingBalances(int n) {
+        if (n <= 0) {
+            return List.of();
+        }
+        Comparator<Participant> byBalance = Comparator.comparingLong(Participant::getOutstandingCents);
+        PriorityQueue<Participant> top = new PriorityQueue<>(n + 1, byBalance);
+        for (Participant p : allParticipants) {
+            if (p.getOutstandingCents() <= 0) {
+                continue;
+            }
+            if (top.size() < n) {
+                top.offer(p);
+            } else if (byBalance.compare(p, top.peek()) > 0) {
+                top.poll();
+                top.offer(p);
+            }
+        }
+        Participant[] result = new Participant[top.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = top.poll();
+        }
+        return Arrays.asList(result);
+    }
+    
+    private static Page<Participant> page(PersistentVector<Participant> source, int cursor, int limit) {
+        if (cursor < 0 || limit <= 0) {
+            throw new IllegalArgumentException("Cursor o límite inválido: " + cursor + ", " + limit);
+        }
+        int from = Math.min(cursor, source.size());
+        int to = (int) Math.min((long) from + limit, source.size());
+        // subList es una vista sobre el vector inmutable: cuesta O(página)
+        return new Page<>(source.subList(from, to), to < source.size() ? to : -1);
+    }
+    
+    /**
+     * Búsqueda por nombre o email para la mesa de ayuda
+     * 
+     * Admite nombres parciales ("ana gar"), sin tildes ("garcia") y con errores
+     * de tipeo ("grcia"). Devuelve hasta 'limit' participantes, del más al menos
+     * relevante. El índice se construye en la primera llamada y desde entonces
+     * se actualiza con cada registro.
+     */
+    public List<Participant> searchByName(String query, int limit) {
+        List<NameSearchIndex.Hit> hits = searchHits(query, limit);
+        List<Participant> result = new ArrayList<>(hits.size());
+        for (NameSearchIndex.Hit hit : hits) {
+            result.add(hit.participant());
+        }
+        return result;
+    }
+    
+    /**
+     * searchByName con el puntaje de cada resultado (lo usa PartitionedEventRegistry)
+     */
+    List<NameSearchIndex.Hit> searchHits(String query, int limit) {
+        // Doble verificación: el candado de escritura solo se toma la primera vez
+        NameSearchIndex index = nameIndex;
+        if (index == null) {
+            lockWrite();
+            try {
+                index = nameIndex;
+                if (index == null) {
+                    index = new NameSearchIndex();
+                    for (Participant p : allParticipants) {
+                        index.add(p);
+                    }
+                    nameIndex = index;
+                }
+            } finally {
+                unlockWrite();
+            }
+        }
+        lockRead();
+        try {
+            // El índice no es thread-safe: no se consulta mientras se publica un bloque
+            synchronized (publishLock) {
+                return index.searchHits(query, limit);
+            }
+        } finally {
+            unlockRead();
+        }
+    }
+    
+    /**
+     * Activa un filtro de Bloom sobre ids y emails normalizados
+     * 
+     * En importaciones donde casi todos los participantes son nuevos, el filtro
+     * descarta los duplicados imposibles sin consultar los índices exactos por
+     * id y email; solo los "quizás duplicados" pasan a la comprobación exacta.
+     * Los registros ya presentes se cargan en el filtro al activarlo.
+     * 
+     * @param expectedInsertions ids + emails esperados en la primera etapa
+     * @param falsePositiveRate  tasa de falsos positivos objetivo (por ejemplo 0.01)
+     */
+    public void enableDuplicatePrecheck(int expectedInsertions, double falsePositiveRate) {
+        lockWrite();
+        try {
+            ScalableBloomFilter filter = new ScalableBloomFilter(expectedInsertions, falsePositiveRate);
+            for (Object key : positionById.keySet()) {
+                if (key instanceof String id) {
+                    filter.put(id);
+                }
+            }
+            for (String email : idByEmail.keySet()) {
+                filter.put(email);
+            }
+            precheck = filter;
+            precheckCount = 0;
+            skippedProbes = 0;
+            falsePositives = 0;
+        } finally {
+            unlockWrite();
+        }
+    }
+    
+    /**
+     * Estadísticas del filtro previo (vacío si no está activado)
+     */
+    public Optional<PrecheckStats> getDuplicatePrecheckStats() {
+        lockRead();
+        try {
+            if (precheck == null) {
+                return Optional.empty();
+            }
+            long newRows = skippedProbes + falsePositives;
+            return Optional.of(new PrecheckStats(precheckCount, skippedProbes, falsePositives,
+                    precheck.getExpectedFalsePositiveRate(),
+                    newRows == 0 ? 0.0 : (double) falsePositives / newRows,
+                    precheck.getMemoryBytes()));
+        } finally {
+            unlockRead();
+        }
+    }
+    
+    /**
+     * Conteos por tipo, pagos completos y recaudación de los participantes
+     * registrados, siempre al día y sin recorrer el registro
+     */
+    public ParticipantStatistics getStatistics() {
+        return statistics;
+    }
+    
+    public DuplicatePolicy getDuplicatePolicy() {
+        return duplicatePolicy;
+    }
+    
+    public void setDuplicatePolicy(DuplicatePolicy duplicatePolicy) {
+        lockWrite();
+        try {
+            this.duplicatePolicy = duplicatePolicy;
+        } finally {
+            unlockWrite();
+        }
+    }
+    
+    /**
+     * index() que anota en 'registered' al participante si quedó registrado
+     * 
+     * @return 1 si se agregó como un registro nuevo, 0 si no
+     */
+    private int indexInto(Participant participant, List<Participant> registered) {
+        Outcome outcome = index(participant);
+        if (outcome != Outcome.KEPT_EXISTING) {
+            registered.add(participant);
+        }
+        return outcome == Outcome.ADDED ? 1 : 0;
+    }
+    
+    /**
+     * Agrega el participante a la lista interna y a los índices por tipo, id y email.
+     * Si el id o el email ya existen se aplica la política de duplicados.
+     * 
+     * Con REPLACE, si el id coincide con un registro y el email con OTRO, el
+     * nuevo no reemplaza a ninguno: quitarle el email al segundo lo dejaría
+     * registrado pero inalcanzable por email, así que se conserva lo existente.
+     */
+    private Outcome index(Participant participant) {
+        Participant existing = findExisting(participant);
+        if (existing == null) {
+            if (journal != null) {
+                journal.append(participant);
+            }
+            positionById.put(idKey(participant.getId()), allParticipants.size());
+            allParticipants = allParticipants.plus(participant);
+            indexEmail(participant);
+            addToPrecheck(participant);
+            addToTypeBucket(participant);
+            statistics.add(participant);
+            for (Index<?, ?> index : indexes) {
+                index.add(participant);
+            }
+            if (nameIndex != null) {
+                nameIndex.add(participant);
+            }
+            return Outcome.ADDED;
+        }
+        
+        switch (duplicatePolicy) {
+            case REPLACE:
+                if (emailOwnedByAnother(existing, participant)) {
+                    break;
+                }
+                if (journal != null) {
+                    journal.append(participant);
+                }
+                replace(existing, participant);
+                return Outcome.REPLACED;
+            case MERGE_PAYMENTS:
+                participant.forEachPayment(existing::addPayment);
+                break;
+            case REJECT:
+            default:
+                break;
+        }
+        return Outcome.KEPT_EXISTING;
+    }
+    
+    /**
+     * Si el email del reemplazo ya pertenece a un registro distinto del que
+     * se va a reemplazar
+     */
+    private boolean emailOwnedByAnother(Participant existing, Participant replacement) {
+        if (replacement.getEmail() == null) {
+            return false;
+        }
+        Object owner = idByEmail.get(normalizeEmail(replacement.getEmail()));
+        return owner != null && !owner.equals(idKey(existing.getId()));
+    }
+    
+    /**
+     * Busca un registro previo con el mismo id o, en su defecto, el mismo email.
+     * Con el filtro previo activo, los participantes que seguro son nuevos no
+     * consultan los índices exactos.
+     */
+    private Participant findExisting(Participant participant) {
+        String email = participant.getEmail() == null ? null : normalizeEmail(participant.getEmail());
+        if (precheck != null) {
+            precheckCount++;
+            if (participant.getId() != null && !precheck.mightContain(participant.getId())
+                    && (email == null || !precheck.mightContain(email))) {
+                skippedProbes++;
+                return null;
+            }
+        }
+        Integer position = positionById.get(idKey(participant.getId()));
+        if (position == null && email != null) {
+            Object key = idByEmail.get(email);
+            position = key == null ? null : positionById.get(key);
+        }
+        if (position == null && precheck != null) {
+            falsePositives++;
+        }
+        return position == null ? null : allParticipants.get(position);
+    }
+    
+    /**
+     * Pone al participante nuevo en la posición del existente y actualiza los índices
+     * 
+     * Los buckets están en orden de registro, así que el existente se encuentra
+     * por búsqueda binaria y el reemplazo ocupa su mismo lugar con with(): cuesta
+     * O(log n) y las posiciones de los demás no cambian. Solo si el reemplazo
+     * cambia de tipo (o de clave en un índice) se reconstruyen los dos buckets
+     * involucrados, en O(bucket).
+     */
+    private void replace(Participant existing, Participant replacement) {
+        // Los buckets se actualizan antes de tocar positionById: la búsqueda
+        // binaria necesita la posición de todos sus miembros, incluido el existente
+        int position = position(existing);
+        String oldType = typeKey(existing);
+        String newType = typeKey(replacement);
+        if (oldType.equals(newType)) {
+            participantsByType.put(oldType, order.replace(participantsByType.get(oldType), position, replacement));
+        } else {
+            participantsByType.put(oldType, order.remove(participantsByType.get(oldType), position));
+            participantsByType.put(newType, order.replace(
+                    participantsByType.getOrDefault(newType, PersistentVector.empty()), position, replacement));
+        }
+        for (Index<?, ?> index : indexes) {
+            index.replace(existing, replacement, position);
+        }
+        
+        positionById.remove(idKey(existing.getId()));
+        if (existing.getEmail() != null) {
+            idByEmail.remove(normalizeEmail(existing.getEmail()));
+        }
+        allParticipants = allParticipants.with(position, replacement);
+        positionById.put(idKey(replacement.getId()), position);
+        indexEmail(replacement);
+        addToPrecheck(replacement);
+        statistics.remove(existing);
+        statistics.add(replacement);
+        if (nameIndex != null) {
+            nameIndex.remove(existing.getId());
+            nameIndex.add(replacement);
+        }
+    }
+    
+    private void reserveJournal(List<? extends Participant> participants) {
+        try {
+            journal.reserve(participants);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private void syncJournal() {
+        if (journal != null) {
+            journal.sync();
+        }
+    }
+    
+    private void indexEmail(Participant participant) {
+        if (participant.getEmail() != null) {
+            idByEmail.put(normalizeEmail(participant.getEmail()), idKey(participant.getId()));
+        }
+    }
+    
+    /**
+     * Posición de registro de un participante publicado
+     */
+    private int position(Participant participant) {
+        return positionById.get(idKey(participant.getId()));
+    }
+    
+    /**
+     * El participante en esa posición; vacío si no hay posición o si el id
+     * está reservado por un bloque que todavía no se publicó
+     */
+    private Optional<Participant> published(Integer position) {
+        return position == null || position < 0 ? Optional.empty() : Optional.of(allParticipants.get(position));
+    }
+    
+    /**
+     * Clave de los mapas por id: los mapas concurrentes no admiten null, así
+     * que los participantes sin id comparten una clave propia
+     */
+    private static Object idKey(String id) {
+        return id == null ? NULL_ID : id;
+    }
+    
+    private static int stripe(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (CLAIM_STRIPES - 1);
+    }
+    
+    /**
+     * El filtro no admite borrados: los ids y emails reemplazados quedan y a lo
+     * sumo producen falsos positivos, que la comprobación exacta descarta
      */
-    public void addParticipant(Participant participant) {
-        allParticipants.add(participant);
+    private void addToPrecheck(Participant participant) {
+        if (precheck != null) {
+            if (participant.getId() != null) {
+                precheck.put(participant.getId());
+            }
+            if (participant.getEmail() != null) {
+                precheck.put(normalizeEmail(participant.getEmail()));
+            }
+        }
+    }
+    
+    private void addToTypeBucket(Participant participant) {
+        participantsByType.merge(typeKey(participant),
+                PersistentVector.<Participant>empty().plus(participant),
+                (bucket, single) -> bucket.plus(participant));
+    }
+    
+    /**
+     * Clave del índice por email: sin espacios alrededor y en minúsculas
+     */
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Clave del índice por tipo: equivalente a comparar con equalsIgnoreCase
+     */
+    private static String normalizeType(String type) {
+        return type.toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Clave del índice por tipo de un participante registrado: la instancia
+     * canónica del diccionario, sin crear un String nuevo en cada registro
+     */
+    private static String typeKey(Participant participant) {
+        return AttributeDictionary.SHARED.fold(participant.getType());
     }
     
     /**
      * Obtener todos los participantes registrados
+     * 
+     * Devuelve una foto inmutable en O(1): no se copia la lista, y los
+     * registros posteriores no la modifican.
      */
     public List<Participant> getAllParticipants() {
-        return new ArrayList<>(allParticipants);
+        return allParticipants;
+    }
+    
+    /**
+     * Fotos inmutables de todos los participantes, en orden de registro
+     * 
+     * Recorre la foto O(1) de getAllParticipants, sin candados, y pide
+     * snapshot() a cada uno. Las vistas se crean en cada llamada (los
+     * participantes no las guardan), así que quien necesite repetirlo seguido
+     * puede conservar el resultado mientras le sirva.
+     */
+    public List<ParticipantView> snapshotAll() {
+        PersistentVector<Participant> snapshot = allParticipants;
+        ParticipantView[] views = new ParticipantView[snapshot.size()];
+        int i = 0;
+        for (Participant p : snapshot) {
+            views[i++] = p.snapshot();
+        }
+        return Collections.unmodifiableList(Arrays.asList(views));
+    }
+    
+    /**
+     * Indica si el registro admite registros concurrentes
+     */
+    public boolean isThreadSafe() {
+        return lock != null;
+    }
+    
+    // Candados: no hacen nada en modo de un solo hilo
+    
+    private void lockRead() {
+        if (lock != null) {
+            lock.readLock().lock();
+        }
+    }
+    
+    private void unlockRead() {
+        if (lock != null) {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void lockWrite() {
+        if (lock != null) {
+            lock.writeLock().lock();
+        }
+    }
+    
+    private void unlockWrite() {
+        if (lock != null) {
+            lock.writeLock().unlock();
+        }
     }
     
     /**
@@ -0,0 +1,179 @@
+package com.app.generics;
+
+import com.app.model.Participant;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Index - Índice secundario sobre los participantes de un EventRegistry
+ *
+ * Agrupa los participantes de un tipo T por la clave que devuelve un extractor,
+ * por ejemplo Teacher::getInstitution o InternationalPresenter::getCountry.
+ * EventRegistry lo mantiene al registrar, así que una consulta cuesta O(resultado)
+ * y no O(registro).
+ *
+ * COVARIANZA en el diseño:
+ * - El extractor es Function<? super T, ? extends K>: sirve una función
+ *   definida para un supertipo de T (Participant::getEmail para un índice de Student)
+ * - Las consultas devuelven List<? extends T>: se pueden LEER como T,
+ *   pero no se puede escribir en ellas
+ *
+ * Los participantes cuya clave es null no se indexan.
+ */
+public final class Index<K, T extends Participant> {
+
+    private final Class<T> type;
+    private final Function<? super T, ? extends K> keyExtractor;
+    private final ConcurrentMap<K, PersistentVector<T>> buckets; // Cada bucket en orden de registro
+    private final RegistrationOrder registrationOrder;
+
+    Index(Class<T> type, Function<? super T, ? extends K> keyExtractor, Comparator<? super K> order,
+          RegistrationOrder registrationOrder) {
+        this.type = type;
+        this.keyExtractor = keyExtractor;
+        this.buckets = order == null ? new ConcurrentHashMap<>() : new ConcurrentSkipListMap<>(order);
+        this.registrationOrder = registrationOrder;
+    }
+
+    /**
+     * Participantes cuya clave es igual a la dada (vista inmutable, O(1))
+     */
+    public List<? extends T> get(K key) {
+        return buckets.getOrDefault(key, PersistentVector.empty());
+    }
+
+    /**
+     * Participantes con clave en [desde, hasta), en el orden del índice.
+     * Solo disponible en índices ordenados.
+     *
+     * No copia participantes: devuelve una vista inmutable sobre los buckets
+     * del rango (que ya son vectores inmutables), así que cuesta O(claves del
+     * rango) y no O(resultado).
+     */
+    public List<? extends T> range(K fromInclusive, K toExclusive) {
+        if (!(buckets instanceof NavigableMap)) {
+            throw new UnsupportedOperationException("El índice no es ordenado");
+        }
+        List<PersistentVector<T>> inRange = new ArrayList<>(((NavigableMap<K, PersistentVector<T>>) buckets)
+                .subMap(fromInclusive, true, toExclusive, false).values());
+        return switch (inRange.size()) {
+            case 0 -> PersistentVector.empty();
+            case 1 -> inRange.get(0);
+            default -> new RangeView<>(inRange);
+        };
+    }
+
+    /**
+     * Claves presentes en el índice
+     */
+    public Set<K> keys() {
+        return buckets.keySet();
+    }
+
+    public boolean isSorted() {
+        return buckets instanceof NavigableMap;
+    }
+
+    // Mantenimiento (lo llama EventRegistry bajo su candado de escritura)
+
+    void add(Participant participant) {
+        K key = keyOf(participant);
+        if (key != null) {
+            T typed = type.cast(participant);
+            buckets.merge(key, PersistentVector.<T>empty().plus(typed), (bucket, single) -> bucket.plus(typed));
+        }
+    }
+
+    /**
+     * El reemplazo ocupa la posición de registro 'position' del existente
+     * 
+     * Con la misma clave se cambia en su lugar con with(), en O(log n); si la
+     * clave (o el tipo) cambia, se quita de un bucket y se inserta en orden en
+     * el otro, en O(bucket).
+     */
+    void replace(Participant existing, Participant replacement, int position) {
+        K oldKey = keyOf(existing);
+        K newKey = keyOf(replacement);
+        if (oldKey != null && oldKey.equals(newKey)) {
+            buckets.put(oldKey, registrationOrder.replace(buckets.get(oldKey), position, type.cast(replacement)));
+            return;
+        }
+        if (oldKey != null) {
+            PersistentVector<T> remaining = registrationOrder.remove(buckets.get(oldKey), position);
+            if (remaining.isEmpty()) {
+                buckets.remove(oldKey);
+            } else {
+                buckets.put(oldKey, remaining);
+            }
+        }
+        if (newKey != null) {
+            buckets.put(newKey, registrationOrder.replace(
+                    buckets.getOrDefault(newKey, PersistentVector.empty()), position, type.cast(replacement)));
+        }
+    }
+
+    /**
+     * Concatenación de los buckets de un rango: get(i) busca el bucket por
+     * los tamaños acumulados, en O(log claves)
+     */
+    private static final class RangeView<T> extends AbstractList<T> implements RandomAccess {
+        private final List<PersistentVector<T>> buckets;
+        private final int[] starts; // Índice del primer elemento de cada bucket
+        private final int size;
+
+        RangeView(List<PersistentVector<T>> buckets) {
+            this.buckets = buckets;
+            this.starts = new int[buckets.size()];
+            int total = 0;
+            for (int i = 0; i < buckets.size(); i++) {
+                starts[i] = total;
+                total += buckets.get(i).size();
+            }
+            this.size = total;
+        }
+
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Índice " + index + ", tamaño " + size);
+            }
+            // Los buckets nunca están vacíos, así que los inicios son distintos
+            int bucket = Arrays.binarySearch(starts, index);
+            if (bucket < 0) {
+                bucket = -bucket - 2;
+            }
+            return buckets.get(bucket).get(index - starts[bucket]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void forEach(Consumer<? super T> action) {
+            for (PersistentVector<T> bucket : buckets) {
+                bucket.forEach(action);
+            }
+        }
+    }
+
+    /**
+     * Clave del participante en este índice, o null si no se indexa
+     */
+    private K keyOf(Participant participant) {
+        return type.isInstance(participant) ? keyExtractor.apply(type.cast(participant)) : null;
+    }
+}
@@ -0,0 +1,511 @@
+package com.app.generics;
+
+import com.app.model.Participant;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * NameSearchIndex - Búsqueda por nombre y email para la mesa de ayuda
+ *
+ * Índice invertido sobre las palabras de getName() y getEmail():
+ * - Normalización: minúsculas y sin tildes ("García" y "garcia" coinciden)
+ * - Prefijo: las palabras se guardan ordenadas (TreeMap), así "gar" encuentra
+ *   "garcia" recorriendo solo el rango de ese prefijo
+ * - Errores de tipeo: un índice de trigramas sobre las palabras propone
+ *   candidatas y se confirman con distancia de edición acotada. Los trigramas
+ *   que aparecen en más de MAX_TRIGRAM_FANOUT palabras ("$$a", "edu") no
+ *   proponen candidatas: una palabra con errores debe compartir al menos un
+ *   trigrama selectivo con la consulta
+ * - Del email se indexan sus partes y no el email completo, que agregaba una
+ *   palabra única por participante. Letras y números se separan
+ *   ("lucia.torres1234" da "lucia", "torres" y "1234"), así un prefijo como
+ *   "garcia" no recorre miles de palabras "garcia17", "garcia18", ...
+ * - Los números solo coinciden exactos o por prefijo, sin errores de tipeo
+ *
+ * Cada palabra de la consulta debe coincidir con alguna palabra del
+ * participante; el puntaje favorece coincidencia exacta, luego prefijo y
+ * luego aproximada. Se devuelven los k mejores con un heap de tamaño k.
+ *
+ * Costo: una consulta recorre los documentos de su palabra más selectiva.
+ * Las consultas selectivas (un nombre y un apellido, un email) se resuelven
+ * en fracciones de milisegundo; las amplias, cuyas palabras coinciden con
+ * decenas de miles de participantes ("torres12"), tardan milisegundos y no
+ * bajan de 1 ms con un millón de participantes.
+ *
+ * remove() deja una lápida: el documento deja de devolverse, pero sus
+ * palabras y trigramas siguen en las listas. Cuando las lápidas pasan de
+ * la cuarta parte de los documentos vivos (y de MIN_TOMBSTONES_TO_COMPACT)
+ * el índice se reconstruye con los vivos, así que la memoria y el largo de
+ * las listas quedan acotados por los participantes que siguen registrados.
+ *
+ * EventRegistry lo mantiene bajo su candado de escritura y consulta bajo el de lectura.
+ */
+public class NameSearchIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    // Separa también letras de números: "torres1234" se indexa como "torres" y "1234"
+    private static final Pattern SEPARATORS = Pattern.compile(
+            "[^\\p{L}\\p{N}]+|(?<=\\p{L})(?=\\p{N})|(?<=\\p{N})(?=\\p{L})");
+
+    private static final int EXACT_SCORE = 4;
+    private static final int PREFIX_SCORE = 3;
+    private static final int FUZZY_SCORE = 2; // Menos 1 por cada edición
+    private static final int MAX_TRIGRAM_FANOUT = 2048;
+    static final int MIN_TOMBSTONES_TO_COMPACT = 1024;
+
+    private final List<Participant> docs = new ArrayList<>(); // null si fue reemplazado
+    private final Map<String, Integer> docById = new HashMap<>();
+    private final TreeMap<String, Postings> words = new TreeMap<>();
+    private final Map<String, Postings> trigrams = new HashMap<>(); // trigrama -> palabras
+    private final List<String> wordList = new ArrayList<>(); // id de palabra -> palabra
+    private final List<Postings> wordPostings = new ArrayList<>(); // id de palabra -> documentos
+    private final List<int[]> docWords = new ArrayList<>(); // documento -> ids de sus palabras
+    private int tombstones; // Documentos quitados que siguen en las listas
+
+    /**
+     * Lista creciente de enteros (ids de documento o de palabra)
+     */
+    private static final class Postings {
+        private int[] items = new int[2];
+        private int size;
+        private final int id; // id de la palabra (solo en las listas de palabras)
+
+        Postings(int id) {
+            this.id = id;
+        }
+
+        void add(int item) {
+            if (size > 0 && items[size - 1] == item) {
+                return;
+            }
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = item;
+        }
+    }
+
+    /**
+     * Indexa el nombre y el email del participante
+     */
+    public void add(Participant participant) {
+        int doc = docs.size();
+        docs.add(participant);
+        docById.put(participant.getId(), doc);
+        Set<String> tokens = tokens(participant);
+        int[] wordIds = new int[tokens.size()];
+        int n = 0;
+        for (String word : tokens) {
+            Postings postings = words.get(word);
+            if (postings == null) {
+                postings = new Postings(wordList.size());
+                words.put(word, postings);
+                wordList.add(word);
+                wordPostings.add(postings);
+                for (String trigram : trigramsOf(word)) {
+                    trigrams.computeIfAbsent(trigram, t -> new Postings(-1)).add(postings.id);
+                }
+            }
+            postings.add(doc);
+            wordIds[n++] = postings.id;
+        }
+        docWords.add(wordIds);
+    }
+
+    /**
+     * Deja de devolver al participante con ese id (por ejemplo, al ser reemplazado)
+     */
+    public void remove(String id) {
+        Integer doc = docById.remove(id);
+        if (doc == null) {
+            return;
+        }
+        docs.set(doc, null);
+        docWords.set(doc, null);
+        tombstones++;
+        if (tombstones >= MIN_TOMBSTONES_TO_COMPACT && tombstones > docById.size() / 4) {
+            compact();
+        }
+    }
+
+    /**
+     * Reconstruye el índice solo con los documentos vivos, en el mismo orden:
+     * desaparecen las lápidas y las palabras y trigramas que solo ellas usaban
+     */
+    private void compact() {
+        List<Participant> live = new ArrayList<>(docById.size());
+        for (Participant p : docs) {
+            if (p != null) {
+                live.add(p);
+            }
+        }
+        docs.clear();
+        docById.clear();
+        words.clear();
+        trigrams.clear();
+        wordList.clear();
+        wordPostings.clear();
+        docWords.clear();
+        tombstones = 0;
+        for (Participant p : live) {
+            add(p);
+        }
+    }
+
+    /**
+     * Documentos quitados que todavía ocupan lugar en las listas
+     */
+    int tombstoneCount() {
+        return tombstones;
+    }
+
+    /**
+     * Palabras distintas en el índice, incluidas las que solo usan lápidas
+     */
+    int vocabularySize() {
+        return wordList.size();
+    }
+
+    /**
+     * Un resultado de la búsqueda con su puntaje (mayor es mejor)
+     */
+    record Hit(Participant participant, int score) {
+    }
+
+    /**
+     * Devuelve hasta k participantes que coinciden con la consulta, del mejor al peor
+     */
+    public List<Participant> search(String query, int k) {
+        List<Hit> hits = searchHits(query, k);
+        Participant[] result = new Participant[hits.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = hits.get(i).participant();
+        }
+        return Arrays.asList(result);
+    }
+
+    /**
+     * Como search(), con el puntaje de cada resultado: permite combinar las
+     * búsquedas de varios índices (PartitionedEventRegistry)
+     */
+    List<Hit> searchHits(String query, int k) {
+        String[] queryWords = split(normalize(query));
+        if (queryWords.length == 0 || k <= 0) {
+            return List.of();
+        }
+
+        // Palabras del índice que coinciden con cada palabra de la consulta, con su puntaje
+        List<WordMatches> matches = new ArrayList<>();
+        int driver = 0;
+        long driverCost = Long.MAX_VALUE;
+        for (String queryWord : queryWords) {
+            WordMatches matched = matchWord(queryWord);
+            if (matched.ids.length == 0) {
+                return List.of();
+            }
+            long cost = 0;
+            for (int wordId : matched.ids) {
+                cost += postingsOf(wordId).size;
+            }
+            if (cost < driverCost) {
+                driverCost = cost;
+                driver = matches.size();
+            }
+            matches.add(matched);
+        }
+
+        // Se recorren solo los documentos de la palabra más selectiva, de sus
+        // coincidencias de mayor puntaje a las de menor; el resto de palabras se
+        // verifica con las palabras de cada documento
+        WordMatches driverMatches = matches.get(driver);
+        int othersMax = 0;
+        for (int j = 0; j < matches.size(); j++) {
+            if (j != driver) {
+                othersMax += matches.get(j).maxScore();
+            }
+        }
+        PriorityQueue<int[]> top = new PriorityQueue<>((a, b) -> Integer.compare(a[1], b[1]));
+        BitSet seen = new BitSet(docs.size());
+        for (int m : driverMatches.byScore()) {
+            int driverScore = driverMatches.scores[m];
+            if (top.size() == k && driverScore + othersMax <= top.peek()[1]) {
+                break; // Ningún documento restante puede superar al peor del top-k
+            }
+            Postings postings = postingsOf(driverMatches.ids[m]);
+            for (int i = 0; i < postings.size; i++) {
+                if (top.size() == k && driverScore + othersMax <= top.peek()[1]) {
+                    break;
+                }
+                int doc = postings.items[i];
+                if (seen.get(doc) || docs.get(doc) == null) {
+                    continue;
+                }
+                seen.set(doc);
+                int others = scoreOthers(docWords.get(doc), matches, driver);
+                if (others < 0) {
+                    continue;
+                }
+                // Selección parcial: heap de tamaño k con el peor arriba
+                top.offer(new int[] {doc, driverScore + others});
+                if (top.size() > k) {
+                    top.poll();
+                }
+            }
+        }
+
+        Hit[] result = new Hit[top.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            int[] best = top.poll();
+            result[i] = new Hit(docs.get(best[0]), best[1]);
+        }
+        return Arrays.asList(result);
+    }
+
+    /**
+     * Suma, para cada palabra de la consulta salvo la que guía el recorrido, el
+     * mejor puntaje entre las palabras del documento; -1 si alguna no coincide
+     */
+    private static int scoreOthers(int[] wordIds, List<WordMatches> matches, int driver) {
+        int total = 0;
+        for (int j = 0; j < matches.size(); j++) {
+            if (j == driver) {
+                continue;
+            }
+            int best = 0;
+            for (int wordId : wordIds) {
+                best = Math.max(best, matches.get(j).scoreOf(wordId));
+            }
+            if (best == 0) {
+                return -1;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    /**
+     * Palabras del índice que coinciden con una palabra de la consulta
+     */
+    private WordMatches matchWord(String queryWord) {
+        WordMatches.Builder matched = new WordMatches.Builder();
+
+        // Exacta y prefijo: el rango [palabra, palabra + Character.MAX_VALUE) del TreeMap
+        for (Map.Entry<String, Postings> e : words.subMap(queryWord, true, queryWord + Character.MAX_VALUE, false)
+                .entrySet()) {
+            int score = e.getKey().length() == queryWord.length() ? EXACT_SCORE : PREFIX_SCORE;
+            matched.add(e.getValue().id, score);
+        }
+
+        // Aproximada: palabras que comparten trigramas, confirmadas por distancia de edición
+        int maxEdits = maxEdits(queryWord);
+        if (maxEdits == 0) {
+            return matched.build();
+        }
+        // Se juntan las listas de los trigramas selectivos y se ordenan: cada
+        // palabra queda en una racha tan larga como los trigramas que comparte.
+        // Así la memoria es proporcional a las candidatas y no al vocabulario.
+        Set<String> queryTrigrams = trigramsOf(queryWord);
+        List<Postings> selective = new ArrayList<>(queryTrigrams.size());
+        int total = 0;
+        int skipped = 0;
+        for (String trigram : queryTrigrams) {
+            Postings candidates = trigrams.get(trigram);
+            if (candidates == null) {
+                continue;
+            }
+            if (candidates.size > MAX_TRIGRAM_FANOUT) {
+                skipped++;
+                continue;
+            }
+            selective.add(candidates);
+            total += candidates.size;
+        }
+        int[] candidates = new int[total];
+        int n = 0;
+        for (Postings postings : selective) {
+            System.arraycopy(postings.items, 0, candidates, n, postings.size);
+            n += postings.size;
+        }
+        Arrays.sort(candidates);
+
+        // Cada edición destruye como máximo 3 trigramas; los omitidos cuentan como compartidos
+        int minShared = Math.max(1, queryTrigrams.size() - 3 * maxEdits - skipped);
+        for (int i = 0; i < n; ) {
+            int wordId = candidates[i];
+            int shared = 0;
+            while (i < n && candidates[i] == wordId) {
+                shared++;
+                i++;
+            }
+            String word = wordList.get(wordId);
+            if (shared < minShared || Math.abs(word.length() - queryWord.length()) > maxEdits
+                    || word.startsWith(queryWord)) {
+                continue; // Las que empiezan con la consulta ya coincidieron por prefijo
+            }
+            int distance = boundedDistance(queryWord, word, maxEdits);
+            if (distance <= maxEdits) {
+                matched.add(wordId, FUZZY_SCORE - distance + 1);
+            }
+        }
+        return matched.build();
+    }
+
+    /**
+     * Ediciones toleradas según el largo: ninguna en palabras muy cortas, para
+     * que los trigramas sigan filtrando candidatas, ni en números (tras
+     * separarlos de las letras, una palabra que empieza con dígito es un número)
+     */
+    private static int maxEdits(String word) {
+        if (word.length() <= 2 || Character.isDigit(word.charAt(0))) {
+            return 0;
+        }
+        return word.length() <= 5 ? 1 : 2;
+    }
+
+    private Postings postingsOf(int wordId) {
+        return wordPostings.get(wordId);
+    }
+
+    /**
+     * Ids de palabra ordenados con su puntaje, para buscar sin boxing
+     */
+    private static final class WordMatches {
+        private final int[] ids;
+        private final int[] scores;
+
+        private WordMatches(int[] ids, int[] scores) {
+            this.ids = ids;
+            this.scores = scores;
+        }
+
+        /**
+         * Junta pares (palabra, puntaje) sin boxing; cada palabra se agrega una sola vez
+         */
+        static final class Builder {
+            private long[] packed = new long[16]; // id << 32 | puntaje
+            private int size;
+
+            void add(int wordId, int score) {
+                if (size == packed.length) {
+                    packed = Arrays.copyOf(packed, size * 2);
+                }
+                packed[size++] = (long) wordId << 32 | score;
+            }
+
+            WordMatches build() {
+                Arrays.sort(packed, 0, size);
+                int[] ids = new int[size];
+                int[] scores = new int[size];
+                for (int i = 0; i < size; i++) {
+                    ids[i] = (int) (packed[i] >>> 32);
+                    scores[i] = (int) packed[i];
+                }
+                return new WordMatches(ids, scores);
+            }
+        }
+
+        int maxScore() {
+            int max = 0;
+            for (int score : scores) {
+                max = Math.max(max, score);
+            }
+            return max;
+        }
+
+        /**
+         * Posiciones ordenadas de mayor a menor puntaje
+         */
+        int[] byScore() {
+            // Puntaje invertido en la parte alta: al ordenar quedan de mayor a
+            // menor puntaje y, a igual puntaje, en el orden de los ids
+            long[] keys = new long[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                keys[i] = (long) (Integer.MAX_VALUE - scores[i]) << 32 | i;
+            }
+            Arrays.sort(keys);
+            int[] positions = new int[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                positions[i] = (int) keys[i];
+            }
+            return positions;
+        }
+
+        int scoreOf(int wordId) {
+            int position = Arrays.binarySearch(ids, wordId);
+            return position >= 0 ? scores[position] : 0;
+        }
+    }
+
+    // Normalización
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static String[] split(String normalized) {
+        return Arrays.stream(SEPARATORS.split(normalized))
+                .filter(w -> !w.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    private static Set<String> tokens(Participant participant) {
+        Set<String> tokens = new LinkedHashSet<>(Arrays.asList(split(normalize(participant.getName()))));
+        tokens.addAll(Arrays.asList(split(normalize(participant.getEmail()))));
+        return tokens;
+    }
+
+    private static Set<String> trigramsOf(String word) {
+        String padded = "$$" + word + "$";
+        Set<String> result = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    /**
+     * Distancia de Levenshtein, cortando en cuanto supera el máximo
+     */
+    private static int boundedDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
@@ -0,0 +1,17 @@
+package com.app.generics;
+
+import java.util.List;
+
+/**
+ * Page - Una página de resultados con cursor
+ *
+ * El cursor es la posición (en orden de registro) desde la cual continuar,
+ * así que pedir la siguiente página no recorre las anteriores. nextCursor
+ * es -1 cuando no hay más resultados.
+ */
+public record Page<T>(List<T> items, int nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor >= 0;
+    }
+}
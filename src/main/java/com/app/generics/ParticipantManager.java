@@ -1,9 +1,18 @@
 package com.app.generics;
 
+import com.app.events.EventSink;
+import com.app.events.EventSinks;
+import com.app.events.EventType;
 import com.app.model.Participant;
 import com.app.participants.Student;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
 
 /**
  * ParticipantManager - Demostración de CONTRAVARIANZA en Java
@@ -63,15 +72,122 @@ public class ParticipantManager {
         System.out.println("\n=== CONTRAVARIANZA - Agregando múltiples estudiantes ===");
         System.out.println("Transfiriendo " + students.size() + " estudiantes a la lista destino");
         
+        EventSink events = EventSinks.current();
         for (Student student : students) {
             // ESCRITURA: Podemos escribir todos los Students
             destination.add(student);
-            System.out.println("  ✅ Transferido: " + student.getName());
+            events.emit(EventType.STUDENT_TRANSFERRED, student);
         }
         
         System.out.println("Total de elementos en destino: " + destination.size());
     }
     
+    /**
+     * CONTRAVARIANZA - Ejemplo 2 (masivo): Agregar múltiples estudiantes en bloque
+     * 
+     * Misma firma contravariante que addStudents, pensada para lotes grandes:
+     * reserva la capacidad del destino de una vez (si es un ArrayList), copia
+     * todo con un solo addAll y emite un único evento de resumen en lugar de
+     * una línea por estudiante.
+     */
+    public void addStudentsBulk(List<? super Student> destination, List<? extends Student> students) {
+        System.out.println("\n=== CONTRAVARIANZA - Agregando estudiantes en bloque ===");
+        System.out.println("Transfiriendo " + students.size() + " estudiantes a la lista destino");
+        
+        reserve(destination, students.size());
+        // ESCRITURA: el destino acepta Students, así que acepta la lista entera.
+        // La vista de solo lectura protege el origen; su toArray va directo a la lista.
+        destination.addAll(Collections.unmodifiableList(students));
+        EventSinks.current().emitSummary(EventType.STUDENT_TRANSFERRED, students.size());
+        
+        System.out.println("Total de elementos en destino: " + destination.size());
+    }
+    
+    /**
+     * CONTRAVARIANZA - Ejemplo 2b: Agregar estudiantes en streaming
+     * 
+     * Igual que addStudents pero leyendo de un Iterator: los estudiantes se
+     * escriben en el destino a medida que llegan, sin materializar el lote.
+     * El origen es '? extends Student' (lectura) y el destino '? super Student' (escritura).
+     */
+    public void addStudents(List<? super Student> destination, Iterator<? extends Student> students) {
+        System.out.println("\n=== CONTRAVARIANZA - Agregando estudiantes en streaming ===");
+        
+        EventSink events = EventSinks.current();
+        int transferred = 0;
+        while (students.hasNext()) {
+            Student student = students.next();
+            destination.add(student);
+            transferred++;
+            events.emit(EventType.STUDENT_TRANSFERRED, student);
+        }
+        
+        System.out.println("Estudiantes transferidos: " + transferred);
+        System.out.println("Total de elementos en destino: " + destination.size());
+    }
+    
+    /**
+     * CONTRAVARIANZA - Ejemplo 2c: Agregar estudiantes desde un Stream
+     */
+    public void addStudents(List<? super Student> destination, Stream<? extends Student> students) {
+        addStudents(destination, students.iterator());
+    }
+    
+    /**
+     * CONTRAVARIANZA - Ejemplo 2d: Agregar estudiantes desde un Flow.Publisher
+     * 
+     * Misma contrapresión que EventRegistry.registerAll(Flow.Publisher): se piden
+     * EventRegistry.STREAM_CHUNK_SIZE estudiantes y el bloque siguiente recién
+     * cuando llegó el anterior completo, así el publicador nunca tiene más de un
+     * bloque de demanda pendiente. Los estudiantes se escriben en el destino en
+     * el hilo del publicador: si el destino se comparte con otros hilos, debe ser
+     * thread-safe.
+     * 
+     * @return futuro que se completa con la cantidad transferida cuando el
+     *         publicador termina
+     */
+    public CompletableFuture<Integer> addStudents(List<? super Student> destination,
+                                                  Flow.Publisher<? extends Student> students) {
+        System.out.println("\n=== CONTRAVARIANZA - Agregando estudiantes desde un publicador ===");
+        
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+        students.subscribe(new Flow.Subscriber<Student>() {
+            private final EventSink events = EventSinks.current();
+            private Flow.Subscription subscription;
+            private int transferred;
+            
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(EventRegistry.STREAM_CHUNK_SIZE);
+            }
+            
+            @Override
+            public void onNext(Student student) {
+                // ESCRITURA: el destino acepta Students
+                destination.add(student);
+                transferred++;
+                events.emit(EventType.STUDENT_TRANSFERRED, student);
+                if (transferred % EventRegistry.STREAM_CHUNK_SIZE == 0) {
+                    subscription.request(EventRegistry.STREAM_CHUNK_SIZE);
+                }
+            }
+            
+            @Override
+            public void onError(Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+            
+            @Override
+            public void onComplete() {
+                System.out.println("Estudiantes transferidos: " + transferred);
+                System.out.println("Total de elementos en destino: " + destination.size());
+                result.complete(transferred);
+            }
+        });
+        return result;
+    }
+    
     /**
      * CONTRAVARIANZA - Ejemplo 3: Transferir participantes
      * 
@@ -83,15 +199,35 @@ public class ParticipantManager {
         System.out.println("Tipo de destino: List<? super Participant>");
         System.out.println("Elementos a transferir: " + source.size());
         
+        EventSink events = EventSinks.current();
         for (Participant p : source) {
             // ESCRITURA: Podemos escribir cualquier Participant
             destination.add(p); // ✅ Siempre seguro
-            System.out.println("  ✅ Transferido: " + p.getType() + " - " + p.getName());
+            events.emit(EventType.PARTICIPANT_TRANSFERRED, p);
         }
         
         System.out.println("Transferencia completada. Total en destino: " + destination.size());
     }
     
+    /**
+     * CONTRAVARIANZA - Ejemplo 3 (masivo): Transferir participantes en bloque
+     * 
+     * Como transferParticipants, con capacidad reservada, un solo addAll y un
+     * único evento de resumen.
+     */
+    public void transferParticipantsBulk(List<? super Participant> destination,
+                                         List<? extends Participant> source) {
+        System.out.println("\n=== CONTRAVARIANZA - Transferencia masiva de participantes ===");
+        System.out.println("Tipo de destino: List<? super Participant>");
+        System.out.println("Elementos a transferir: " + source.size());
+        
+        reserve(destination, source.size());
+        destination.addAll(Collections.unmodifiableList(source));
+        EventSinks.current().emitSummary(EventType.PARTICIPANT_TRANSFERRED, source.size());
+        
+        System.out.println("Transferencia completada. Total en destino: " + destination.size());
+    }
+    
     /**
      * CONTRAVARIANZA - Ejemplo 4: Operación condicional
      * 
@@ -141,6 +277,39 @@ public class ParticipantManager {
         System.out.println("Tamaño final de la lista destino: " + destination.size());
     }
     
+    /**
+     * CONTRAVARIANZA - Ejemplo 5 (masivo): Combinar listas en bloque
+     * 
+     * Reserva de una vez el espacio para las dos listas, así el destino crece
+     * como mucho una vez, y emite un único evento de resumen.
+     */
+    public void mergeListsBulk(List<? super Student> destination,
+                               List<? extends Student> list1,
+                               List<? extends Student> list2) {
+        System.out.println("\n=== CONTRAVARIANZA - Combinar listas en bloque ===");
+        System.out.println("Combinando dos listas de estudiantes en una lista general");
+        
+        int initialSize = destination.size();
+        reserve(destination, list1.size() + list2.size());
+        destination.addAll(Collections.unmodifiableList(list1));
+        destination.addAll(Collections.unmodifiableList(list2));
+        
+        int added = destination.size() - initialSize;
+        EventSinks.current().emitSummary(EventType.STUDENT_TRANSFERRED, added);
+        System.out.println("✅ Se agregaron " + added + " estudiantes a la lista destino");
+        System.out.println("Tamaño final de la lista destino: " + destination.size());
+    }
+    
+    /**
+     * Reserva espacio para 'additional' elementos más, si el destino lo permite
+     * (solo ArrayList expone ensureCapacity; el resto crece por su cuenta)
+     */
+    private static void reserve(List<?> destination, int additional) {
+        if (destination instanceof ArrayList<?> arrayList) {
+            arrayList.ensureCapacity(destination.size() + additional);
+        }
+    }
+    
     /**
      * COMPARACIÓN: Método SIN wildcard para contraste
      * 
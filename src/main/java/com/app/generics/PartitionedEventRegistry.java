@@ -0,0 +1,765 @@
+package com.app.generics;
+
+import com.app.model.Money;
+import com.app.model.Participant;
+import com.app.model.ParticipantStatistics;
+import com.app.model.ParticipantView;
+import com.app.model.Presenter;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.stream.Stream;
+
+/**
+ * PartitionedEventRegistry - Registro de eventos particionado por id
+ *
+ * Reparte los participantes en N EventRegistry thread-safe (shards) según el
+ * hash de Participant.getId(). Cada escritura toma solo el candado de su shard,
+ * así que los hilos que registran participantes distintos casi nunca compiten.
+ * Los filtros por tipo y las agregaciones se reparten entre los shards en un
+ * ForkJoinPool y se combinan al final.
+ *
+ * La API covariante es la misma que la de EventRegistry:
+ * - registerAll acepta List<? extends Participant>, Iterator y Stream
+ * - getParticipantsByType devuelve List<? extends Participant>
+ *
+ * Diferencias con EventRegistry:
+ * - getAllParticipants y getParticipantsByType devuelven las fotos de cada
+ *   shard concatenadas (orden de registro dentro de cada shard, no global)
+ * - El shard se elige por id, salvo que el email ya pertenezca a otro shard:
+ *   una reserva email -> shard manda todos los registros con el mismo email
+ *   al shard de quien lo usó primero, que detecta el duplicado bajo su
+ *   candado y aplica la política (REJECT, REPLACE o MERGE_PAYMENTS) igual que
+ *   un EventRegistry solo. Los ids que quedan fuera del shard de su hash se
+ *   reservan en otra tabla, así findById y los duplicados por id los siguen
+ *   encontrando. Si el id y el email ya existen en shards distintos, manda el
+ *   id; con REPLACE el registro se descarta, como en EventRegistry, porque el
+ *   reemplazo se quedaría con el email de otro registro.
+ * - Una reserva solo se conserva mientras su shard tenga la clave: si el
+ *   shard rechaza el registro, o un REPLACE cambia el email o el id, se suelta
+ *   cuando ya no quedan registros en vuelo que se guiaron por ella
+ * - getParticipants pagina shard por shard, y las páginas por tipo también;
+ *   el cursor codifica el shard y la posición dentro de él
+ * - getStatistics devuelve una foto con la suma de las estadísticas de los
+ *   shards, no un objeto que se actualice solo
+ */
+public class PartitionedEventRegistry {
+
+    private final EventRegistry[] shards;
+    private final ForkJoinPool pool;
+    private final Claims emailClaims = new Claims(); // email normalizado -> shard
+    private final Claims movedIds = new Claims(); // id -> shard, si no es el de su hash
+
+    /**
+     * Un shard por procesador, sobre el pool común
+     */
+    public PartitionedEventRegistry() {
+        this(Runtime.getRuntime().availableProcessors(), ForkJoinPool.commonPool());
+    }
+
+    public PartitionedEventRegistry(int shardCount) {
+        this(shardCount, ForkJoinPool.commonPool());
+    }
+
+    public PartitionedEventRegistry(int shardCount, ForkJoinPool pool) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Se necesita al menos un shard");
+        }
+        this.shards = new EventRegistry[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new EventRegistry(true);
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * COVARIANZA: igual que EventRegistry.printPresenters
+     */
+    public void printPresenters(List<? extends Presenter> presenters) {
+        shards[0].printPresenters(presenters);
+    }
+
+    /**
+     * COVARIANZA: filtro por tipo repartido entre los shards
+     *
+     * Cada shard entrega su bucket (una foto inmutable) y el resultado es una
+     * vista de solo lectura que los concatena, sin copiar participantes.
+     */
+    public List<? extends Participant> getParticipantsByType(String type) {
+        System.out.println("\n=== COVARIANZA - Filtrando por tipo: " + type + " ===");
+
+        List<Participant> filtered = new ShardedList<>(fanOut(i -> shards[i].typeBucket(type)));
+
+        System.out.println("Encontrados: " + filtered.size() + " participantes de tipo " + type);
+        return filtered;
+    }
+
+    /**
+     * COVARIANZA: registro masivo
+     *
+     * El lote se divide por shard y cada parte se agrega en paralelo con una
+     * sola adquisición del candado de su shard.
+     */
+    public void registerAll(List<? extends Participant> participants) {
+        System.out.println("\n=== COVARIANZA - Registro masivo ===");
+        System.out.println("Registrando " + participants.size() + " participantes...");
+
+        EventRegistry.Committed committed = commit(participants);
+        int duplicates = participants.size() - committed.added();
+        committed.announce();
+
+        if (duplicates > 0) {
+            System.out.println("Duplicados detectados (" + getDuplicatePolicy() + "): " + duplicates);
+        }
+        System.out.println("Total de participantes registrados: " + size());
+    }
+
+    /**
+     * COVARIANZA: registro masivo en streaming desde un Iterator, en bloques
+     * de EventRegistry.STREAM_CHUNK_SIZE
+     *
+     * @return cantidad de participantes agregados como registros nuevos
+     */
+    public int registerAll(Iterator<? extends Participant> participants) {
+        System.out.println("\n=== COVARIANZA - Registro masivo en streaming ===");
+
+        List<Participant> chunk = new ArrayList<>(EventRegistry.STREAM_CHUNK_SIZE);
+        int read = 0;
+        int added = 0;
+        while (participants.hasNext()) {
+            chunk.add(participants.next());
+            read++;
+            if (chunk.size() == EventRegistry.STREAM_CHUNK_SIZE) {
+                added += commitAndRegister(chunk);
+                chunk.clear();
+            }
+        }
+        added += commitAndRegister(chunk);
+
+        if (read > added) {
+            System.out.println("Duplicados detectados (" + getDuplicatePolicy() + "): " + (read - added));
+        }
+        System.out.println("Leídos " + read + " participantes. Total de participantes registrados: "
+                + size());
+        return added;
+    }
+
+    /**
+     * COVARIANZA: registro masivo en streaming desde un Stream
+     *
+     * @return cantidad de participantes agregados como registros nuevos
+     */
+    public int registerAll(Stream<? extends Participant> participants) {
+        return registerAll(participants.iterator());
+    }
+
+    /**
+     * COVARIANZA: registro masivo desde un Flow.Publisher con contrapresión,
+     * como EventRegistry: se piden EventRegistry.STREAM_CHUNK_SIZE elementos y
+     * el siguiente bloque solo después de repartir el anterior entre los shards
+     *
+     * @return futuro que se completa con la cantidad de registros nuevos
+     *         cuando el publicador termina
+     */
+    public CompletableFuture<Integer> registerAll(Flow.Publisher<? extends Participant> publisher) {
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+        publisher.subscribe(new Flow.Subscriber<Participant>() {
+            private final List<Participant> chunk = new ArrayList<>(EventRegistry.STREAM_CHUNK_SIZE);
+            private Flow.Subscription subscription;
+            private int added;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(EventRegistry.STREAM_CHUNK_SIZE);
+            }
+
+            @Override
+            public void onNext(Participant p) {
+                chunk.add(p);
+                if (chunk.size() == EventRegistry.STREAM_CHUNK_SIZE) {
+                    added += commitAndRegister(chunk);
+                    chunk.clear();
+                    subscription.request(EventRegistry.STREAM_CHUNK_SIZE);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                added += commitAndRegister(chunk);
+                chunk.clear();
+                result.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                added += commitAndRegister(chunk);
+                chunk.clear();
+                result.complete(added);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * COVARIANZA: igual que EventRegistry.compareLists (solo lee tamaños y
+     * primeros elementos, no hay trabajo que repartir)
+     */
+    public void compareLists(List<? extends Participant> list1, List<? extends Participant> list2) {
+        shards[0].compareLists(list1, list2);
+    }
+
+    /**
+     * @return true si se agregó como un registro nuevo
+     */
+    public boolean addParticipant(Participant participant) {
+        Route route = route(participant);
+        if (route.shard() < 0) {
+            return false;
+        }
+        try {
+            return shards[route.shard()].addParticipant(participant);
+        } finally {
+            settle(route);
+        }
+    }
+
+    public Optional<Participant> findById(String id) {
+        return shardFor(id).findById(id);
+    }
+
+    /**
+     * El email no determina el shard: se consulta en todos
+     */
+    public Optional<Participant> findByEmail(String email) {
+        for (Optional<Participant> found : fanOut(i -> shards[i].findByEmail(email))) {
+            if (found.isPresent()) {
+                return found;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Crea en cada shard un índice hash mantenido automáticamente
+     *
+     * Ejemplo: registry.createIndex(Teacher.class, Teacher::getInstitution)
+     */
+    public <K, T extends Participant> PartitionedIndex<K, T> createIndex(Class<T> type,
+                                                                        Function<? super T, ? extends K> keyExtractor) {
+        List<Index<K, T>> indexes = fanOut(i -> shards[i].createIndex(type, keyExtractor));
+        return new PartitionedIndex<>(indexes, keyExtractor, null);
+    }
+
+    /**
+     * Crea en cada shard un índice ordenado por clave, que además admite
+     * consultas por rango
+     */
+    public <K, T extends Participant> PartitionedIndex<K, T> createSortedIndex(Class<T> type,
+                                                                              Function<? super T, ? extends K> keyExtractor,
+                                                                              Comparator<? super K> order) {
+        List<Index<K, T>> indexes = fanOut(i -> shards[i].createSortedIndex(type, keyExtractor, order));
+        return new PartitionedIndex<>(indexes, keyExtractor, order);
+    }
+
+    /**
+     * Búsqueda por nombre o email, como EventRegistry.searchByName
+     *
+     * Cada shard devuelve sus 'limit' mejores con su puntaje y se combinan:
+     * del más al menos relevante y, a igual puntaje, en el orden de los shards.
+     */
+    public List<Participant> searchByName(String query, int limit) {
+        List<NameSearchIndex.Hit> hits = new ArrayList<>();
+        for (List<NameSearchIndex.Hit> partial : fanOut(i -> shards[i].searchHits(query, limit))) {
+            hits.addAll(partial);
+        }
+        // sort es estable: a igual puntaje se conserva el orden de los shards
+        hits.sort((a, b) -> Integer.compare(b.score(), a.score()));
+        List<Participant> result = new ArrayList<>(Math.min(limit, hits.size()));
+        for (int i = 0; i < hits.size() && i < limit; i++) {
+            result.add(hits.get(i).participant());
+        }
+        return result;
+    }
+
+    /**
+     * Página de participantes: shard por shard y, dentro de cada uno, en orden
+     * de registro (el mismo orden que getAllParticipants)
+     *
+     * @param cursor 0 para la primera página, luego page.nextCursor()
+     * @param limit  tamaño máximo de la página
+     */
+    public Page<Participant> getParticipants(int cursor, int limit) {
+        return page(cursor, limit, (shard, local, max) -> shard.getParticipants(local, max));
+    }
+
+    /**
+     * Página de participantes de un tipo, shard por shard
+     *
+     * Dentro de cada shard el cursor es una posición de registro, como en
+     * EventRegistry.getParticipantsByType: un REPLACE que cambia a alguien de
+     * tipo entre dos páginas no hace repetir ni saltear a nadie.
+     */
+    public Page<Participant> getParticipantsByType(String type, int cursor, int limit) {
+        return page(cursor, limit, (shard, local, max) -> shard.getParticipantsByType(type, local, max));
+    }
+
+    /**
+     * Todos los participantes: fotos inmutables de cada shard concatenadas
+     */
+    public List<Participant> getAllParticipants() {
+        List<List<Participant>> parts = new ArrayList<>(shards.length);
+        for (EventRegistry shard : shards) {
+            parts.add(shard.getAllParticipants());
+        }
+        return new ShardedList<>(parts);
+    }
+
+    /**
+     * Fotos inmutables de todos los participantes, tomadas en paralelo por shard
+     */
+    public List<ParticipantView> snapshotAll() {
+        return new ShardedList<>(fanOut(i -> shards[i].snapshotAll()));
+    }
+
+    public int size() {
+        int size = 0;
+        for (EventRegistry shard : shards) {
+            size += shard.getAllParticipants().size();
+        }
+        return size;
+    }
+
+    // Agregaciones repartidas entre los shards
+
+    /**
+     * Foto con la suma de las estadísticas al vuelo de cada shard
+     *
+     * A diferencia de EventRegistry.getStatistics, el resultado no se
+     * actualiza con los registros y pagos posteriores: hay que volver a pedirlo.
+     */
+    public ParticipantStatistics getStatistics() {
+        List<ParticipantStatistics> parts = new ArrayList<>(shards.length);
+        for (EventRegistry shard : shards) {
+            parts.add(shard.getStatistics());
+        }
+        return ParticipantStatistics.sumOf(parts);
+    }
+
+    /**
+     * Cantidad de participantes por tipo, sin distinguir mayúsculas como en
+     * EventRegistry: suma los contadores de cada shard, sin recorrer participantes
+     */
+    public Map<String, Integer> countsByType() {
+        Map<String, Integer> counts = new HashMap<>();
+        getStatistics().getCountsByType().forEach((type, count) -> {
+            if (count > 0) {
+                counts.put(type, count.intValue());
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * Cantidad de participantes que pagaron la tarifa completa: suma las
+     * estadísticas al vuelo de cada shard, sin recorrer participantes
+     */
+    public int countFullyPaid() {
+        long total = 0;
+        for (EventRegistry shard : shards) {
+            total += shard.getStatistics().getFullyPaidCount();
+        }
+        return (int) total;
+    }
+
+    /**
+     * Suma de lo pagado por todos los participantes
+     */
+    public double getTotalPaid() {
+        return Money.toDouble(getTotalPaidCents());
+    }
+
+    public long getTotalPaidCents() {
+        long total = 0;
+        for (EventRegistry shard : shards) {
+            total += shard.getStatistics().getRevenueCents();
+        }
+        return total;
+    }
+
+    public EventRegistry.DuplicatePolicy getDuplicatePolicy() {
+        return shards[0].getDuplicatePolicy();
+    }
+
+    public void setDuplicatePolicy(EventRegistry.DuplicatePolicy duplicatePolicy) {
+        for (EventRegistry shard : shards) {
+            shard.setDuplicatePolicy(duplicatePolicy);
+        }
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Agrega un bloque y después emite el evento de registro de los que
+     * quedaron registrados
+     */
+    private int commitAndRegister(List<? extends Participant> participants) {
+        EventRegistry.Committed committed = commit(participants);
+        committed.announce();
+        return committed.added();
+    }
+
+    /**
+     * Divide el bloque por shard y agrega las partes en paralelo
+     *
+     * @return los registros nuevos y los registrados, shard por shard
+     */
+    private EventRegistry.Committed commit(List<? extends Participant> participants) {
+        if (participants.isEmpty()) {
+            return EventRegistry.Committed.NONE;
+        }
+        List<List<Participant>> parts = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            parts.add(new ArrayList<>(participants.size() / shards.length + 1));
+        }
+        List<Route> routes = new ArrayList<>(participants.size());
+        try {
+            for (Participant p : participants) {
+                Route route = route(p);
+                routes.add(route);
+                if (route.shard() >= 0) {
+                    parts.get(route.shard()).add(p);
+                }
+            }
+            int added = 0;
+            List<Participant> registered = new ArrayList<>(participants.size());
+            for (EventRegistry.Committed partial : fanOut(i -> shards[i].commit(parts.get(i)))) {
+                added += partial.added();
+                registered.addAll(partial.registered());
+            }
+            return new EventRegistry.Committed(added, registered);
+        } finally {
+            routes.forEach(this::settle);
+        }
+    }
+
+    private interface ShardPager {
+        Page<Participant> page(EventRegistry shard, int cursor, int limit);
+    }
+
+    /**
+     * Arma una página recorriendo los shards desde el del cursor. El cursor
+     * global es posición * shards + shard, así cabe en el int de Page.
+     */
+    private Page<Participant> page(int cursor, int limit, ShardPager pager) {
+        if (cursor < 0 || limit <= 0) {
+            throw new IllegalArgumentException("Cursor o límite inválido: " + cursor + ", " + limit);
+        }
+        int shard = cursor % shards.length;
+        int local = cursor / shards.length;
+        List<Participant> items = new ArrayList<>(Math.min(limit, 1024));
+        while (shard < shards.length && items.size() < limit) {
+            Page<Participant> part = pager.page(shards[shard], local, limit - items.size());
+            items.addAll(part.items());
+            if (part.hasNext()) {
+                local = part.nextCursor();
+            } else {
+                shard++;
+                local = 0;
+            }
+        }
+        // Los shards siguientes pueden estar vacíos: el cursor apunta al próximo con datos
+        while (shard < shards.length && local == 0 && pager.page(shards[shard], 0, 1).items().isEmpty()) {
+            shard++;
+        }
+        int next = shard < shards.length ? Math.addExact(Math.multiplyExact(local, shards.length), shard) : -1;
+        return new Page<>(items, next);
+    }
+
+    /**
+     * Ejecuta la consulta sobre cada shard en el pool y devuelve los
+     * resultados en el orden de los shards
+     */
+    private <R> List<R> fanOut(IntFunction<R> query) {
+        List<ForkJoinTask<R>> tasks = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            int shard = i;
+            tasks.add(pool.submit(() -> query.apply(shard)));
+        }
+        List<R> results = new ArrayList<>(shards.length);
+        for (ForkJoinTask<R> task : tasks) {
+            results.add(task.join());
+        }
+        return results;
+    }
+
+    private EventRegistry shardFor(String id) {
+        Integer moved = id == null ? null : movedIds.owner(id);
+        return shards[moved != null ? moved : shardIndex(id)];
+    }
+
+    /**
+     * Destino de un participante y las reservas que tomó para llegar ahí
+     *
+     * @param shard     shard donde se agrega, o -1 si se descarta
+     * @param email     email normalizado cuya reserva se tomó, o null
+     * @param movedId   id cuya reserva de traslado se tomó, o null
+     * @param displaced registro que un REPLACE puede quitar, o null
+     */
+    private record Route(int shard, String email, String movedId, Participant displaced) {
+    }
+
+    private static final Route DISCARDED = new Route(-1, null, null, null);
+
+    /**
+     * Shard donde se agrega el participante: el de su id, salvo que el email
+     * ya pertenezca a otro shard. Las reservas que toma se devuelven con settle()
+     * después de que el shard decide.
+     */
+    private Route route(Participant participant) {
+        String id = participant.getId();
+        boolean replace = getDuplicatePolicy() == EventRegistry.DuplicatePolicy.REPLACE;
+        Integer moved = id == null ? null : movedIds.acquireExisting(id);
+        String movedId = moved != null ? id : null;
+        int idShard = moved != null ? moved : shardIndex(id);
+        if (participant.getEmail() == null) {
+            return new Route(idShard, null, movedId, replace ? registered(idShard, id) : null);
+        }
+        String email = normalizeEmail(participant.getEmail());
+        // La reserva es atómica: dos hilos con el mismo email nuevo eligen el mismo shard
+        int owner = emailClaims.acquire(email, idShard);
+        if (owner == idShard) {
+            Participant displaced = null;
+            if (replace) {
+                displaced = registered(idShard, id);
+                if (displaced == null) {
+                    displaced = shards[idShard].findByEmail(email).orElse(null);
+                }
+            }
+            return new Route(idShard, email, movedId, displaced);
+        }
+
+        // El email es de otro shard: si el id ya está registrado, manda el id
+        if (registered(idShard, id) != null) {
+            emailClaims.release(email, holdsEmail(email));
+            if (replace) {
+                // Como en EventRegistry: el reemplazo no se queda con el email de otro registro
+                if (movedId != null) {
+                    movedIds.release(movedId, holdsId(movedId));
+                }
+                return DISCARDED;
+            }
+            return new Route(idShard, null, movedId, null);
+        }
+        if (movedId != null) {
+            movedIds.release(movedId, holdsId(movedId));
+        }
+        if (id == null) {
+            return new Route(owner, email, null, replace ? shards[owner].findByEmail(email).orElse(null) : null);
+        }
+        int target = movedIds.acquire(id, owner);
+        return new Route(target, email, id, replace ? shards[target].findByEmail(email).orElse(null) : null);
+    }
+
+    /**
+     * Devuelve las reservas que tomó route() y suelta las que quedaron sin
+     * registro: la del participante si el shard lo rechazó, y las del registro
+     * que un REPLACE quitó si cambió su email o su id
+     */
+    private void settle(Route route) {
+        if (route.email() != null) {
+            emailClaims.release(route.email(), holdsEmail(route.email()));
+        }
+        if (route.movedId() != null) {
+            movedIds.release(route.movedId(), holdsId(route.movedId()));
+        }
+        Participant displaced = route.displaced();
+        if (displaced != null) {
+            if (displaced.getEmail() != null) {
+                String email = normalizeEmail(displaced.getEmail());
+                emailClaims.recheck(email, holdsEmail(email));
+            }
+            if (displaced.getId() != null) {
+                movedIds.recheck(displaced.getId(), holdsId(displaced.getId()));
+            }
+        }
+    }
+
+    private Participant registered(int shard, String id) {
+        return id == null ? null : shards[shard].findById(id).orElse(null);
+    }
+
+    private IntPredicate holdsEmail(String email) {
+        return shard -> shards[shard].findByEmail(email).isPresent();
+    }
+
+    private IntPredicate holdsId(String id) {
+        return shard -> shards[shard].findById(id).isPresent();
+    }
+
+    /**
+     * Emails reservados (lo usan las pruebas para ver que no quedan reservas huérfanas)
+     */
+    int claimedEmailCount() {
+        return emailClaims.size();
+    }
+
+    int movedIdCount() {
+        return movedIds.size();
+    }
+
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private int shardIndex(String id) {
+        int h = id == null ? 0 : id.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), shards.length);
+    }
+
+    /**
+     * Reservas clave -> shard con la cantidad de registros en vuelo que se
+     * guiaron por cada una
+     *
+     * Mientras una reserva existe, todos los registros con esa clave van a su
+     * shard, que detecta los duplicados bajo su candado. Se suelta cuando no
+     * queda ningún registro en vuelo y su shard ya no tiene la clave; las dos
+     * cosas se comprueban dentro de compute() sobre la misma clave, así un
+     * registro que acaba de tomarla nunca la pierde.
+     */
+    private static final class Claims {
+        private static final class Claim {
+            final int shard;
+            int inFlight; // Solo se modifica dentro de compute() sobre su clave
+
+            Claim(int shard) {
+                this.shard = shard;
+            }
+        }
+
+        private final ConcurrentMap<String, Claim> claims = new ConcurrentHashMap<>();
+
+        Integer owner(String key) {
+            Claim claim = claims.get(key);
+            return claim == null ? null : claim.shard;
+        }
+
+        /**
+         * Toma la reserva de la clave, creándola para el shard dado si no existe
+         *
+         * @return el shard reservado (el de una reserva previa, si la había)
+         */
+        int acquire(String key, int shard) {
+            return claims.compute(key, (k, claim) -> {
+                Claim taken = claim != null ? claim : new Claim(shard);
+                taken.inFlight++;
+                return taken;
+            }).shard;
+        }
+
+        /**
+         * Toma la reserva solo si ya existe
+         */
+        Integer acquireExisting(String key) {
+            Claim claim = claims.computeIfPresent(key, (k, existing) -> {
+                existing.inFlight++;
+                return existing;
+            });
+            return claim == null ? null : claim.shard;
+        }
+
+        /**
+         * Devuelve una reserva tomada y la suelta si su shard ya no tiene la clave
+         */
+        void release(String key, IntPredicate holds) {
+            settle(key, 1, holds);
+        }
+
+        /**
+         * Suelta la reserva, sin haberla tomado, si su shard ya no tiene la clave
+         */
+        void recheck(String key, IntPredicate holds) {
+            settle(key, 0, holds);
+        }
+
+        private void settle(String key, int taken, IntPredicate holds) {
+            claims.computeIfPresent(key, (k, claim) -> {
+                claim.inFlight -= taken;
+                return claim.inFlight == 0 && !holds.test(claim.shard) ? null : claim;
+            });
+        }
+
+        int size() {
+            return claims.size();
+        }
+    }
+
+    /**
+     * Vista de solo lectura que concatena listas inmutables de los shards
+     */
+    static final class ShardedList<T> extends AbstractList<T> implements RandomAccess {
+        private final List<? extends List<? extends T>> parts;
+        private final int[] starts; // Posición global del primer elemento de cada parte
+        private final int size;
+
+        ShardedList(List<? extends List<? extends T>> parts) {
+            this.parts = parts;
+            this.starts = new int[parts.size()];
+            int offset = 0;
+            for (int i = 0; i < parts.size(); i++) {
+                starts[i] = offset;
+                offset += parts.get(i).size();
+            }
+            this.size = offset;
+        }
+
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Índice " + index + ", tamaño " + size);
+            }
+            int part = Arrays.binarySearch(starts, index);
+            if (part < 0) {
+                part = -part - 2;
+            }
+            // Con partes vacías varias comparten inicio: avanzar hasta la que contiene el índice
+            while (index - starts[part] >= parts.get(part).size()) {
+                part++;
+            }
+            return parts.get(part).get(index - starts[part]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void forEach(Consumer<? super T> action) {
+            for (List<? extends T> part : parts) {
+                part.forEach(action);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.app.generics;
+
+import com.app.model.Participant;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * PartitionedIndex - Índice secundario de un PartitionedEventRegistry
+ *
+ * Reúne un Index por shard, todos con el mismo extractor. Cada shard mantiene
+ * el suyo al registrar, como en EventRegistry; las consultas combinan:
+ * - get(key): vista de solo lectura que concatena el bucket de cada shard
+ *   (orden de registro dentro de cada shard, como getAllParticipants)
+ * - range(desde, hasta): mezcla los rangos de los shards por clave, así el
+ *   resultado queda en el orden del índice; a igual clave, por shard
+ *
+ * COVARIANZA: igual que Index, las consultas devuelven List<? extends T>.
+ */
+public final class PartitionedIndex<K, T extends Participant> {
+
+    private final List<Index<K, T>> shards;
+    private final Function<? super T, ? extends K> keyExtractor;
+    private final Comparator<? super K> order; // null si no es ordenado
+
+    PartitionedIndex(List<Index<K, T>> shards, Function<? super T, ? extends K> keyExtractor,
+                     Comparator<? super K> order) {
+        this.shards = shards;
+        this.keyExtractor = keyExtractor;
+        this.order = order;
+    }
+
+    /**
+     * Participantes cuya clave es igual a la dada (vista inmutable, O(shards))
+     */
+    public List<? extends T> get(K key) {
+        List<List<? extends T>> parts = new ArrayList<>(shards.size());
+        for (Index<K, T> shard : shards) {
+            parts.add(shard.get(key));
+        }
+        return new PartitionedEventRegistry.ShardedList<>(parts);
+    }
+
+    /**
+     * Participantes con clave en [desde, hasta), en el orden del índice.
+     * Solo disponible en índices ordenados.
+     *
+     * Cada shard entrega su rango ya ordenado y se mezclan con un heap de un
+     * cursor por shard: O(resultado · log shards).
+     */
+    public List<? extends T> range(K fromInclusive, K toExclusive) {
+        if (order == null) {
+            throw new UnsupportedOperationException("El índice no es ordenado");
+        }
+        List<List<? extends T>> parts = new ArrayList<>(shards.size());
+        int total = 0;
+        for (Index<K, T> shard : shards) {
+            List<? extends T> part = shard.range(fromInclusive, toExclusive);
+            parts.add(part);
+            total += part.size();
+        }
+        // Cursor: {shard, posición}; a igual clave sale primero el shard menor
+        PriorityQueue<int[]> cursors = new PriorityQueue<>((a, b) -> {
+            int byKey = order.compare(keyAt(parts, a), keyAt(parts, b));
+            return byKey != 0 ? byKey : Integer.compare(a[0], b[0]);
+        });
+        for (int i = 0; i < parts.size(); i++) {
+            if (!parts.get(i).isEmpty()) {
+                cursors.add(new int[] {i, 0});
+            }
+        }
+        List<T> merged = new ArrayList<>(total);
+        while (!cursors.isEmpty()) {
+            int[] cursor = cursors.poll();
+            List<? extends T> part = parts.get(cursor[0]);
+            merged.add(part.get(cursor[1]));
+            if (++cursor[1] < part.size()) {
+                cursors.add(cursor);
+            }
+        }
+        return Collections.unmodifiableList(merged);
+    }
+
+    /**
+     * Claves presentes en algún shard (copia; ordenada si el índice lo es)
+     */
+    public Set<K> keys() {
+        Set<K> keys = order == null ? new HashSet<>() : new TreeSet<>(order);
+        for (Index<K, T> shard : shards) {
+            keys.addAll(shard.keys());
+        }
+        return Collections.unmodifiableSet(keys);
+    }
+
+    public boolean isSorted() {
+        return order != null;
+    }
+
+    private K keyAt(List<List<? extends T>> parts, int[] cursor) {
+        return keyExtractor.apply(parts.get(cursor[0]).get(cursor[1]));
+    }
+}
@@ -0,0 +1,280 @@
+package com.app.generics;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * PersistentVector - Lista inmutable con estructura compartida
+ *
+ * Es un árbol de 32 ramas (bit-partitioned trie) con una "cola" para los
+ * últimos elementos, al estilo de los vectores persistentes de Clojure.
+ *
+ * Cada modificación (plus, with) devuelve un NUEVO vector que comparte casi
+ * todos sus nodos con el anterior, así que:
+ * - Agregar o reemplazar cuesta O(log32 n) (prácticamente constante)
+ * - Tomar una "foto" del contenido cuesta O(1): basta con guardar la referencia
+ * - Quien tenga una referencia nunca verá cambios, aunque otro hilo siga escribiendo
+ *
+ * Como es una List de solo lectura, se puede entregar como List<? extends T>
+ * sin copias defensivas. Los métodos de escritura de List lanzan
+ * UnsupportedOperationException.
+ */
+public final class PersistentVector<E> extends AbstractList<E> implements RandomAccess {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final PersistentVector<?> EMPTY =
+            new PersistentVector<>(0, BITS, new Object[WIDTH], new Object[0]);
+
+    private final int size;
+    private final int shift;      // Nivel de la raíz (múltiplo de BITS)
+    private final Object[] root;  // Nodos internos: Object[] de WIDTH posiciones
+    private final Object[] tail;  // Últimos elementos, fuera del árbol
+
+    private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * Vector vacío compartido (no reserva memoria)
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    /**
+     * Crea un vector con los elementos de la colección, en orden
+     */
+    public static <E> PersistentVector<E> copyOf(Iterable<? extends E> elements) {
+        PersistentVector<E> vector = empty();
+        for (E element : elements) {
+            vector = vector.plus(element);
+        }
+        return vector;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice " + index + ", tamaño " + size);
+        }
+        return (E) leafFor(index)[index & MASK];
+    }
+
+    /**
+     * Devuelve un nuevo vector con el elemento agregado al final
+     */
+    public PersistentVector<E> plus(E element) {
+        // Hay espacio en la cola: solo se copia la cola
+        if (size - tailOffset() < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = element;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+
+        // La cola está llena: pasa al árbol y se empieza una cola nueva
+        Object[] newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            // La raíz se desborda: el árbol crece un nivel
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tail);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[] {element});
+    }
+
+    /**
+     * Devuelve un nuevo vector con los elementos agregados al final, en orden
+     *
+     * Llena la cola de a varios elementos por copia, en lugar de copiarla una
+     * vez por elemento como haría una serie de plus().
+     */
+    public PersistentVector<E> plusAll(List<? extends E> elements) {
+        PersistentVector<E> vector = this;
+        int i = 0;
+        while (i < elements.size()) {
+            int room = WIDTH - (vector.size - vector.tailOffset());
+            if (room == 0) {
+                vector = vector.plus(elements.get(i++)); // Cola llena: pasa al árbol
+                continue;
+            }
+            int take = Math.min(room, elements.size() - i);
+            Object[] newTail = Arrays.copyOf(vector.tail, vector.tail.length + take);
+            for (int j = 0; j < take; j++) {
+                newTail[vector.tail.length + j] = elements.get(i + j);
+            }
+            vector = new PersistentVector<>(vector.size + take, vector.shift, vector.root, newTail);
+            i += take;
+        }
+        return vector;
+    }
+
+    /**
+     * Devuelve un nuevo vector con el elemento de la posición indicada reemplazado
+     */
+    public PersistentVector<E> with(int index, E element) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice " + index + ", tamaño " + size);
+        }
+        if (index >= tailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = element;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift, assoc(shift, root, index, element), tail);
+    }
+
+    /**
+     * Devuelve un nuevo vector con el elemento insertado en la posición indicada
+     * (los siguientes se corren un lugar). Si es al final equivale a plus(element);
+     * si no, reconstruye el vector, por lo que cuesta O(n).
+     */
+    public PersistentVector<E> plus(int index, E element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Índice " + index + ", tamaño " + size);
+        }
+        if (index == size) {
+            return plus(element);
+        }
+        PersistentVector<E> result = empty();
+        for (int i = 0; i < index; i++) {
+            result = result.plus(get(i));
+        }
+        result = result.plus(element);
+        for (int i = index; i < size; i++) {
+            result = result.plus(get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Devuelve un nuevo vector sin el elemento de la posición indicada.
+     * Reconstruye el vector, por lo que cuesta O(n).
+     */
+    public PersistentVector<E> without(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice " + index + ", tamaño " + size);
+        }
+        PersistentVector<E> result = empty();
+        for (int i = 0; i < size; i++) {
+            if (i != index) {
+                result = result.plus(get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Recorre hoja por hoja, sin descender el árbol en cada elemento
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        for (int base = 0; base < size; base += WIDTH) {
+            Object[] leaf = leafFor(base);
+            int end = Math.min(WIDTH, size - base);
+            for (int i = 0; i < end; i++) {
+                action.accept((E) leaf[i]);
+            }
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private int index = 0;
+            private Object[] leaf = size > 0 ? leafFor(0) : null;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                if ((index & MASK) == 0 && index > 0) {
+                    leaf = leafFor(index);
+                }
+                return (E) leaf[index++ & MASK];
+            }
+        };
+    }
+
+    // Operaciones internas sobre el árbol
+
+    private int tailOffset() {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] leafFor(int index) {
+        if (index >= tailOffset()) {
+            return tail;
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    private Object[] pushTail(int level, Object[] parent, Object[] tailNode) {
+        int subIndex = ((size - 1) >>> level) & MASK;
+        Object[] result = parent.clone();
+        Object[] toInsert;
+        if (level == BITS) {
+            toInsert = tailNode;
+        } else {
+            Object[] child = (Object[]) parent[subIndex];
+            toInsert = child != null
+                    ? pushTail(level - BITS, child, tailNode)
+                    : newPath(level - BITS, tailNode);
+        }
+        result[subIndex] = toInsert;
+        return result;
+    }
+
+    private static Object[] newPath(int level, Object[] node) {
+        if (level == 0) {
+            return node;
+        }
+        Object[] result = new Object[WIDTH];
+        result[0] = newPath(level - BITS, node);
+        return result;
+    }
+
+    private static Object[] assoc(int level, Object[] node, int index, Object element) {
+        Object[] result = node.clone();
+        if (level == 0) {
+            result[index & MASK] = element;
+        } else {
+            int subIndex = (index >>> level) & MASK;
+            result[subIndex] = assoc(level - BITS, (Object[]) node[subIndex], index, element);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,64 @@
+package com.app.generics;
+
+import com.app.model.Participant;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * RegistrationOrder - Posición de registro de los participantes de un EventRegistry
+ *
+ * Los buckets por tipo y los de los índices secundarios guardan a sus
+ * participantes en orden de registro (posición en allParticipants). Por eso,
+ * para encontrar a un participante dentro de un bucket alcanza con una
+ * búsqueda binaria por posición, en lugar de recorrerlo con indexOf.
+ *
+ * Solo se usa bajo un candado del registro (search también bajo el de lectura,
+ * para ubicar los cursores de las páginas por tipo).
+ */
+final class RegistrationOrder {
+
+    private final ToIntFunction<Participant> position;
+
+    RegistrationOrder(ToIntFunction<Participant> position) {
+        this.position = position;
+    }
+
+    /**
+     * Índice dentro del bucket del participante registrado en 'registrationPosition',
+     * o -(punto de inserción) - 1 si no está (como Collections.binarySearch)
+     */
+    int search(List<? extends Participant> bucket, int registrationPosition) {
+        int low = 0;
+        int high = bucket.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midPosition = position.applyAsInt(bucket.get(mid));
+            if (midPosition < registrationPosition) {
+                low = mid + 1;
+            } else if (midPosition > registrationPosition) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Reemplaza en el bucket al participante registrado en 'registrationPosition'.
+     * Si no estaba, inserta el reemplazo donde le corresponde según esa posición.
+     */
+    <T extends Participant> PersistentVector<T> replace(PersistentVector<T> bucket, int registrationPosition, T replacement) {
+        int index = search(bucket, registrationPosition);
+        return index >= 0 ? bucket.with(index, replacement) : bucket.plus(-index - 1, replacement);
+    }
+
+    /**
+     * Quita del bucket al participante registrado en 'registrationPosition' (si está)
+     */
+    <T extends Participant> PersistentVector<T> remove(PersistentVector<T> bucket, int registrationPosition) {
+        int index = search(bucket, registrationPosition);
+        return index >= 0 ? bucket.without(index) : bucket;
+    }
+}
@@ -0,0 +1,156 @@
+package com.app.generics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ScalableBloomFilter - Filtro de Bloom que crece con los datos
+ *
+ * Responde "definitivamente no está" o "quizás está" usando pocos bits por
+ * elemento. Cuando una etapa alcanza su capacidad se agrega otra con el doble
+ * de capacidad y la mitad de tasa de falsos positivos, así la tasa total queda
+ * acotada por el doble de la inicial sin importar cuántos elementos lleguen.
+ *
+ * No admite eliminar elementos. No es thread-safe: EventRegistry lo usa bajo su candado.
+ */
+public class ScalableBloomFilter {
+
+    private static final double TIGHTENING_RATIO = 0.5;
+
+    private final List<Stage> stages = new ArrayList<>();
+    private final double falsePositiveRate;
+    private long count;
+
+    /**
+     * @param expectedInsertions capacidad de la primera etapa
+     * @param falsePositiveRate  tasa de falsos positivos de la primera etapa
+     */
+    public ScalableBloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Capacidad o tasa de falsos positivos inválida");
+        }
+        this.falsePositiveRate = falsePositiveRate;
+        stages.add(new Stage(expectedInsertions, falsePositiveRate));
+    }
+
+    public void put(String value) {
+        Stage current = stages.get(stages.size() - 1);
+        if (current.count >= current.capacity) {
+            current = new Stage(current.capacity * 2L, current.falsePositiveRate * TIGHTENING_RATIO);
+            stages.add(current);
+        }
+        long hash = hash(value);
+        current.put(hash);
+        count++;
+    }
+
+    /**
+     * false significa que el valor nunca se agregó
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        for (Stage stage : stages) {
+            if (stage.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Tasa de falsos positivos esperada con los elementos actuales
+     * (probabilidad de que alguna etapa dé un falso positivo)
+     */
+    public double getExpectedFalsePositiveRate() {
+        double allNegative = 1.0;
+        for (Stage stage : stages) {
+            allNegative *= 1.0 - stage.currentFalsePositiveRate();
+        }
+        return 1.0 - allNegative;
+    }
+
+    public double getConfiguredFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public long getMemoryBytes() {
+        long bytes = 0;
+        for (Stage stage : stages) {
+            bytes += stage.bits.length * 8L;
+        }
+        return bytes;
+    }
+
+    public int getStageCount() {
+        return stages.size();
+    }
+
+    /**
+     * Hash de 64 bits (FNV-1a sobre los caracteres y mezcla final de MurmurHash3)
+     */
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Una etapa: filtro de Bloom clásico de tamaño fijo con doble hashing
+     */
+    private static final class Stage {
+        private final long[] bits;
+        private final long bitCount;
+        private final int hashCount;
+        private final long capacity;
+        private final double falsePositiveRate;
+        private long count;
+
+        Stage(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            // m = -n ln(p) / (ln 2)^2 ; k = m/n ln 2
+            long m = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bits = new long[(int) Math.max(1, (m + 63) / 64)];
+            this.bitCount = bits.length * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+        }
+
+        void put(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+                bits[(int) (bit >>> 6)] |= 1L << bit;
+            }
+            count++;
+        }
+
+        boolean mightContain(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+                if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        double currentFalsePositiveRate() {
+            return Math.pow(1 - Math.exp(-(double) hashCount * count / bitCount), hashCount);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.app.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * AttributeDictionary - Diccionario de valores repetidos de atributos
+ *
+ * Tipos de participante, universidades, carreras, instituciones, países o
+ * monedas se repiten en millones de objetos con unos pocos cientos de valores
+ * distintos. El diccionario asigna a cada valor una instancia canónica y un
+ * código int pequeño:
+ * - intern() devuelve la instancia compartida, así cada objeto guarda una
+ *   referencia en lugar de su propia copia del String
+ * - code() y foldedCode() permiten comparar enteros en lugar de llamar a
+ *   equals/equalsIgnoreCase; findFoldedCode() hace lo mismo sin registrar
+ *
+ * Las lecturas no bloquean; solo el primer registro de un valor nuevo se
+ * sincroniza. Los valores nunca se eliminan (los códigos tienen que seguir
+ * siendo válidos), así que el diccionario tiene una capacidad: al llegar a
+ * ella, intern() deja de registrar y devuelve el mismo String que recibe.
+ * Un campo con valores casi únicos ocupa entonces lo mismo que sin
+ * diccionario, pero no lo hace crecer sin límite. Los códigos se registran
+ * siempre: solo se piden para etiquetas de tipo, que son pocas.
+ */
+public final class AttributeDictionary {
+
+    /**
+     * Diccionario compartido por los constructores de Participant y sus subclases
+     */
+    public static final AttributeDictionary SHARED = new AttributeDictionary();
+
+    /**
+     * Valores distintos que intern() registra como máximo por omisión
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private record Entry(String value, int code, String folded, int foldedCode) {
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final List<String> values = new ArrayList<>();
+    private final int capacity;
+
+    public AttributeDictionary() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public AttributeDictionary(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacidad negativa: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Devuelve la instancia canónica del valor (null si el valor es null).
+     * Con el diccionario lleno, un valor no registrado se devuelve tal cual.
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        Entry entry = entries.get(value);
+        if (entry == null) {
+            entry = registerWithinCapacity(value);
+        }
+        return entry == null ? value : entry.value();
+    }
+
+    /**
+     * Código del valor exacto
+     */
+    public int code(String value) {
+        return entry(value).code();
+    }
+
+    /**
+     * Instancia canónica del valor en minúsculas, sin crear Strings nuevos
+     * después de la primera vez
+     */
+    public String fold(String value) {
+        return entry(value).folded();
+    }
+
+    /**
+     * Código del valor sin distinguir mayúsculas: dos valores que son
+     * equalsIgnoreCase tienen el mismo foldedCode
+     */
+    public int foldedCode(String value) {
+        return entry(value).foldedCode();
+    }
+
+    /**
+     * Como foldedCode(), pero solo consulta: si ninguna variante del valor está
+     * registrada devuelve -1 sin registrarlo. Es la que usan las consultas,
+     * para que buscar tipos inventados no haga crecer el diccionario.
+     */
+    public int findFoldedCode(String value) {
+        Entry entry = entries.get(value);
+        if (entry == null) {
+            entry = entries.get(value.toLowerCase(Locale.ROOT));
+        }
+        return entry == null ? -1 : entry.foldedCode();
+    }
+
+    /**
+     * Valor asociado a un código
+     */
+    public synchronized String value(int code) {
+        return values.get(code);
+    }
+
+    /**
+     * Cantidad de valores distintos registrados
+     */
+    public synchronized int size() {
+        return values.size();
+    }
+
+    private Entry entry(String value) {
+        Entry entry = entries.get(value);
+        return entry != null ? entry : register(value);
+    }
+
+    /**
+     * Como register(), pero sin pasar de la capacidad (un valor con mayúsculas
+     * ocupa dos lugares: el suyo y el de su versión en minúsculas)
+     */
+    private synchronized Entry registerWithinCapacity(String value) {
+        Entry entry = entries.get(value);
+        if (entry != null || values.size() + 2 <= capacity) {
+            return entry != null ? entry : register(value);
+        }
+        return null;
+    }
+
+    private synchronized Entry register(String value) {
+        Entry entry = entries.get(value);
+        if (entry != null) {
+            return entry;
+        }
+        String lower = value.toLowerCase(Locale.ROOT);
+        int code = values.size();
+        values.add(value);
+        if (lower.equals(value)) {
+            entry = new Entry(value, code, value, code);
+        } else {
+            Entry folded = entries.containsKey(lower) ? entries.get(lower) : register(lower);
+            entry = new Entry(value, code, folded.value(), folded.code());
+        }
+        entries.put(value, entry);
+        return entry;
+    }
+}
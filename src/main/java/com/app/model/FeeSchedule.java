@@ -0,0 +1,126 @@
+package com.app.model;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * FeeSchedule - Tabla de tarifas de inscripción por ParticipantType
+ *
+ * Cada tabla es inmutable (céntimos por tipo, indexados por ordinal). La tabla
+ * vigente está en una AtomicReference: install() la reemplaza de una vez, por
+ * ejemplo para activar o terminar una tarifa anticipada, sin reiniciar la
+ * aplicación. Los participantes ya creados conservan la tarifa con la que se
+ * crearon.
+ *
+ * Al cargar la clase, si la propiedad de sistema FEES_PROPERTY apunta a un
+ * archivo, la tabla inicial se lee de ahí; si no, se usan las tarifas por
+ * defecto de ParticipantType.
+ *
+ * Formato del archivo (properties, UTF-8), los tipos que falten usan su tarifa
+ * por defecto:
+ * <pre>
+ * STUDENT=45.00
+ * TEACHER=70.00
+ * </pre>
+ */
+public final class FeeSchedule {
+
+    public static final String FEES_PROPERTY = "seminar.fees.file";
+
+    private static final AtomicReference<FeeSchedule> CURRENT = new AtomicReference<>(initial());
+
+    private final long[] feeCents;
+
+    private FeeSchedule(long[] feeCents) {
+        this.feeCents = feeCents;
+    }
+
+    /**
+     * Tabla con las tarifas por defecto de ParticipantType
+     */
+    public static FeeSchedule defaults() {
+        ParticipantType[] types = ParticipantType.values();
+        long[] feeCents = new long[types.length];
+        for (ParticipantType type : types) {
+            feeCents[type.ordinal()] = Money.toMinorUnits(type.defaultFee());
+        }
+        return new FeeSchedule(feeCents);
+    }
+
+    /**
+     * Lee una tabla de un archivo properties con una entrada NOMBRE_DEL_TIPO=tarifa
+     */
+    public static FeeSchedule load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        FeeSchedule schedule = defaults();
+        for (String key : properties.stringPropertyNames()) {
+            ParticipantType type;
+            try {
+                type = ParticipantType.valueOf(key.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Tipo de participante desconocido en " + file + ": " + key, e);
+            }
+            schedule = schedule.withFee(type, Double.parseDouble(properties.getProperty(key).trim()));
+        }
+        return schedule;
+    }
+
+    /**
+     * Tabla vigente
+     */
+    public static FeeSchedule current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Reemplaza la tabla vigente y devuelve la anterior
+     */
+    public static FeeSchedule install(FeeSchedule schedule) {
+        if (schedule == null) {
+            throw new IllegalArgumentException("La tabla de tarifas no puede ser null");
+        }
+        return CURRENT.getAndSet(schedule);
+    }
+
+    public double feeFor(ParticipantType type) {
+        return Money.toDouble(feeCents[type.ordinal()]);
+    }
+
+    public long feeCentsFor(ParticipantType type) {
+        return feeCents[type.ordinal()];
+    }
+
+    /**
+     * Copia de la tabla con otra tarifa para un tipo
+     */
+    public FeeSchedule withFee(ParticipantType type, double fee) {
+        if (fee < 0) {
+            throw new IllegalArgumentException("Tarifa negativa para " + type + ": " + fee);
+        }
+        long[] copy = feeCents.clone();
+        copy[type.ordinal()] = Money.toMinorUnits(fee);
+        return new FeeSchedule(copy);
+    }
+
+    private static FeeSchedule initial() {
+        String file = System.getProperty(FEES_PROPERTY);
+        if (file == null || file.isBlank()) {
+            return defaults();
+        }
+        try {
+            return load(Path.of(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer la tabla de tarifas " + file, e);
+        }
+    }
+}
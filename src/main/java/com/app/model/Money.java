@@ -0,0 +1,101 @@
+package com.app.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money - Monto exacto en unidades menores (céntimos) con su moneda
+ *
+ * Los montos se siguen recibiendo como double en los constructores de pagos y
+ * participantes, pero se convierten una sola vez a céntimos: a partir de ahí
+ * sumas, restas y comparaciones son enteras y no acumulan error, por grande
+ * que sea el volumen.
+ *
+ * Las sumas entre monedas distintas no se permiten. Los totales del sistema
+ * (MoneyTotal, Participant.getTotalPaidCents) suman céntimos sin conversión de
+ * moneda, igual que antes sumaban los double.
+ */
+public record Money(long minorUnits, String currency) implements Comparable<Money> {
+
+    public static final String DEFAULT_CURRENCY = "PEN";
+    private static final int SCALE = 2;
+    private static final long MINOR_PER_UNIT = 100;
+
+    public Money {
+        if (currency == null) {
+            throw new IllegalArgumentException("La moneda no puede ser null");
+        }
+        currency = AttributeDictionary.SHARED.intern(currency);
+    }
+
+    public static Money of(double amount) {
+        return new Money(toMinorUnits(amount), DEFAULT_CURRENCY);
+    }
+
+    public static Money of(double amount, String currency) {
+        return new Money(toMinorUnits(amount), currency);
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return new Money(minorUnits, DEFAULT_CURRENCY);
+    }
+
+    /**
+     * Convierte un monto a céntimos con redondeo HALF_UP sobre su
+     * representación decimal (como "%.2f"): 1.005 son 101 céntimos
+     */
+    public static long toMinorUnits(double amount) {
+        double scaled = amount * MINOR_PER_UNIT;
+        double fraction = Math.abs(scaled - (long) scaled);
+        if (Math.abs(fraction - 0.5) < 1e-6 || Math.abs(scaled) >= 1L << 52) {
+            return BigDecimal.valueOf(amount).setScale(SCALE, RoundingMode.HALF_UP).longValueExact();
+        }
+        return Math.round(scaled);
+    }
+
+    public static double toDouble(long minorUnits) {
+        return (double) minorUnits / MINOR_PER_UNIT;
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public double toDouble() {
+        return toDouble(minorUnits);
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    /**
+     * Agrega el monto con dos decimales (sin la moneda)
+     */
+    public StringBuilder appendAmount(StringBuilder out) {
+        return TextFormat.appendMinorUnits(out, minorUnits);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return appendAmount(new StringBuilder(currency).append(' ')).toString();
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Monedas distintas: " + currency + " y " + other.currency);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.app.model;
+
+/**
+ * MoneyTotal - Acumulador de céntimos sin cajas
+ *
+ * Reemplaza a los Map<String, Double> y a las sumas de double en streams: cada
+ * add() es una suma de long (con control de desbordamiento) y un contador.
+ * No es thread-safe; para contadores compartidos ver ParticipantStatistics.
+ */
+public final class MoneyTotal {
+
+    private long minorUnits;
+    private long count;
+
+    public MoneyTotal add(long minorUnits) {
+        this.minorUnits = Math.addExact(this.minorUnits, minorUnits);
+        count++;
+        return this;
+    }
+
+    public MoneyTotal add(Money money) {
+        return add(money.minorUnits());
+    }
+
+    public MoneyTotal addAll(MoneyTotal other) {
+        minorUnits = Math.addExact(minorUnits, other.minorUnits);
+        count += other.count;
+        return this;
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    /**
+     * Cantidad de montos sumados
+     */
+    public long getCount() {
+        return count;
+    }
+
+    public double toDouble() {
+        return Money.toDouble(minorUnits);
+    }
+
+    public Money toMoney(String currency) {
+        return new Money(minorUnits, currency);
+    }
+}
@@ -1,104 +1,398 @@
 package com.app.model;
 
+import com.app.events.EventSinks;
+import com.app.events.EventType;
+import com.app.generics.PersistentVector;
 import com.app.payment.PaymentMethod;
-import java.util.ArrayList;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.DoubleBinaryOperator;
 
 public abstract class Participant {
     protected String id;
     protected String name;
     protected String email;
     protected String type;
+    private final int typeCode; // Código del tipo sin distinguir mayúsculas
+    private final ParticipantType participantType;
     protected double registrationFee; // Tarifa de inscripción
-    protected List<PaymentMethod> paymentMethods; // Métodos de pago usados
-    protected boolean hasPaid; // Indicador de pago
+    private final long registrationFeeCents; // La misma tarifa, exacta en céntimos
+    private volatile PaymentState paymentState; // Pagos, total y estadísticas, se reemplazan juntos con un CAS
+    private PaymentMethod.StatusListener paymentListener; // Se crea con el primer pago
+
+    private static final VarHandle PAYMENT_STATE;
+
+    static {
+        try {
+            PAYMENT_STATE = MethodHandles.lookup()
+                    .findVarHandle(Participant.class, "paymentState", PaymentState.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Estado de pago inmutable: los métodos de pago usados y la suma exacta de
+     * los que cuentan (ni FAILED ni REFUNDED)
+     *
+     * Cada cambio arma un estado nuevo y lo publica con compareAndSet, así que
+     * un lector siempre ve un pago junto con su monto, y dos pagos simultáneos
+     * sobre el mismo participante nunca se pisan. Participantes distintos no
+     * comparten nada: no hay candado global.
+     *
+     * Los pagos se guardan en 'holder' de la forma más compacta posible
+     * (presentadores, invitados y miembros de comisión no pagan, y casi todos
+     * los demás pagan una sola vez):
+     * - null: sin pagos (el estado inicial EMPTY es compartido)
+     * - PaymentMethod: un único pago, sin lista ni arreglo
+     * - PersistentVector<PaymentMethod>: a partir del segundo pago
+     *
+     * Las estadísticas que siguen al participante viajan en el mismo estado
+     * ('statistics': null, una ParticipantStatistics o un PersistentVector si
+     * son varias). Así, cada cambio de total avisa exactamente a las que
+     * estaban enganchadas en el estado que reemplazó, y al engancharse una
+     * estadística recibe el total de ese mismo estado: ningún pago se cuenta
+     * dos veces ni se pierde.
+     */
+    private record PaymentState(Object holder, long totalPaidCents, Object statistics) {
+        static final PaymentState EMPTY = new PaymentState(null, 0, null);
+
+        Object plus(PaymentMethod payment) {
+            if (holder == null) {
+                return payment;
+            }
+            if (holder instanceof PaymentMethod single) {
+                return PersistentVector.<PaymentMethod>empty().plus(single).plus(payment);
+            }
+            return vector().plus(payment);
+        }
+
+        /**
+         * Lista inmutable de los pagos; con uno solo se crea una lista de un elemento
+         */
+        List<PaymentMethod> payments() {
+            if (holder == null) {
+                return PersistentVector.empty();
+            }
+            if (holder instanceof PaymentMethod single) {
+                return List.of(single);
+            }
+            return vector();
+        }
+
+        void forEach(Consumer<? super PaymentMethod> action) {
+            if (holder instanceof PaymentMethod single) {
+                action.accept(single);
+            } else if (holder != null) {
+                vector().forEach(action);
+            }
+        }
+
+        int size() {
+            if (holder == null) {
+                return 0;
+            }
+            return holder instanceof PaymentMethod ? 1 : vector().size();
+        }
+
+        @SuppressWarnings("unchecked")
+        private PersistentVector<PaymentMethod> vector() {
+            return (PersistentVector<PaymentMethod>) holder;
+        }
+
+        PaymentState withStatistics(Object newStatistics) {
+            return new PaymentState(holder, totalPaidCents, newStatistics);
+        }
+
+        Object statisticsPlus(ParticipantStatistics stats) {
+            if (statistics == null) {
+                return stats;
+            }
+            if (statistics instanceof ParticipantStatistics single) {
+                return PersistentVector.<ParticipantStatistics>empty().plus(single).plus(stats);
+            }
+            return statisticsVector().plus(stats);
+        }
+
+        Object statisticsMinus(ParticipantStatistics stats) {
+            if (statistics == stats) {
+                return null;
+            }
+            if (statistics instanceof PersistentVector<?>) {
+                PersistentVector<ParticipantStatistics> all = statisticsVector();
+                int position = all.indexOf(stats);
+                return position < 0 ? all : all.without(position);
+            }
+            return statistics;
+        }
+
+        void forEachStatistics(Consumer<ParticipantStatistics> action) {
+            if (statistics instanceof ParticipantStatistics single) {
+                action.accept(single);
+            } else if (statistics != null) {
+                statisticsVector().forEach(action);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private PersistentVector<ParticipantStatistics> statisticsVector() {
+            return (PersistentVector<ParticipantStatistics>) statistics;
+        }
+    }
+
+    /**
+     * Total pagado y si cubre la tarifa, leídos de un mismo estado de pago
+     */
+    record PaymentTotals(long totalPaidCents, boolean fullyPaid) {
+    }
 
     public Participant(String id, String name, String email, String type) {
+        this(id, name, email, AttributeDictionary.SHARED.intern(type),
+                AttributeDictionary.SHARED.foldedCode(type), ParticipantType.of(type));
+    }
+    
+    /**
+     * Constructor para los tipos conocidos: la etiqueta y su código ya están
+     * precalculados en el enum, así que no se busca ni se crea ningún String
+     */
+    protected Participant(String id, String name, String email, ParticipantType participantType) {
+        this(id, name, email, participantType.getLabel(), participantType.getTypeCode(), participantType);
+    }
+    
+    private Participant(String id, String name, String email, String type, int typeCode,
+                        ParticipantType participantType) {
         this.id = id;
         this.name = name;
         this.email = email;
         this.type = type;
-        this.paymentMethods = new ArrayList<>();
-        this.hasPaid = false;
-        this.registrationFee = calculateRegistrationFee(type);
+        this.typeCode = typeCode;
+        this.participantType = participantType;
+        this.paymentState = PaymentState.EMPTY;
+        // Tarifa de la tabla vigente (se puede cambiar en caliente con FeeSchedule.install)
+        FeeSchedule fees = FeeSchedule.current();
+        this.registrationFeeCents = fees.feeCentsFor(participantType);
+        this.registrationFee = fees.feeFor(participantType);
     }
     
     /**
-     * Calcula la tarifa de inscripción según el tipo de participante
+     * Añade un método de pago
+     * 
+     * Thread-safe: se puede llamar a la vez desde varios hilos (por ejemplo, la
+     * confirmación de Yape y el registro en caja de la misma persona)
      */
-    private double calculateRegistrationFee(String participantType) {
-        switch (participantType.toLowerCase()) {
-            case "estudiante":
-                return 50.0;
-            case "docente":
-                return 80.0;
-            case "administrativo":
-                return 60.0;
-            case "ponente nacional":
-            case "ponente internacional":
-            case "invitado":
-            case "miembro comisión":
-                return 0.0; // Gratis
-            case "público":
-                return 40.0;
-            default:
-                return 50.0;
+    public void addPayment(PaymentMethod payment) {
+        PaymentMethod.StatusListener listener = paymentListener;
+        if (listener == null) {
+            listener = this::paymentStatusChanged; // Si dos hilos lo crean a la vez, cualquiera sirve
+            paymentListener = listener;
+        }
+        // Con el candado del pago su estado no cambia entre leerlo y sumarlo:
+        // un setStatus posterior ya encuentra el pago y avisa al listener
+        synchronized (payment) {
+            payment.addStatusListener(listener);
+            updatePaymentState(payment, payment.getStatus().countsAsPaid() ? payment.getAmountCents() : 0);
         }
     }
     
     /**
-     * Añade un método de pago
+     * Un pago que pasa a FAILED o REFUNDED deja de sumar, y vuelve a sumar si
+     * sale de esos estados
      */
-    public void addPayment(PaymentMethod payment) {
-        paymentMethods.add(payment);
-        checkPaymentStatus();
+    private void paymentStatusChanged(PaymentMethod payment, PaymentMethod.PaymentStatus previous,
+                                      PaymentMethod.PaymentStatus current) {
+        if (previous.countsAsPaid() != current.countsAsPaid()) {
+            updatePaymentState(null, current.countsAsPaid() ? payment.getAmountCents() : -payment.getAmountCents());
+        }
+    }
+    
+    /**
+     * Agrega el pago (si hay) y suma deltaCents al total en un solo CAS, y
+     * avisa a las estadísticas con el antes y el después de ese mismo cambio
+     */
+    private void updatePaymentState(PaymentMethod added, long deltaCents) {
+        PaymentState previous;
+        PaymentState next;
+        do {
+            previous = paymentState;
+            Object holder = added == null ? previous.holder() : previous.plus(added);
+            next = new PaymentState(holder, previous.totalPaidCents() + deltaCents, previous.statistics());
+        } while (!PAYMENT_STATE.compareAndSet(this, previous, next));
+        
+        if (deltaCents != 0) {
+            boolean paidBefore = isFullyPaid(previous);
+            boolean paidAfter = isFullyPaid(next);
+            // Solo las estadísticas del estado reemplazado: las que se engancharon
+            // después ya recibieron este cambio dentro de su total inicial
+            previous.forEachStatistics(stats -> stats.paymentChanged(this, deltaCents, paidBefore, paidAfter));
+        }
+    }
+    
+    // Lo llama ParticipantStatistics al empezar o dejar de seguir al participante
+    
+    /**
+     * Engancha la estadística y devuelve el total del mismo estado en que quedó
+     * enganchada: los cambios posteriores le llegan por paymentChanged
+     */
+    PaymentTotals attachStatistics(ParticipantStatistics stats) {
+        PaymentState previous;
+        do {
+            previous = paymentState;
+        } while (!PAYMENT_STATE.compareAndSet(this, previous, previous.withStatistics(previous.statisticsPlus(stats))));
+        return new PaymentTotals(previous.totalPaidCents(), isFullyPaid(previous));
+    }
+    
+    /**
+     * Desengancha la estadística y devuelve el total que tenía contado
+     */
+    PaymentTotals detachStatistics(ParticipantStatistics stats) {
+        PaymentState previous;
+        do {
+            previous = paymentState;
+        } while (!PAYMENT_STATE.compareAndSet(this, previous, previous.withStatistics(previous.statisticsMinus(stats))));
+        return new PaymentTotals(previous.totalPaidCents(), isFullyPaid(previous));
     }
     
     /**
-     * Obtiene el total pagado
+     * Obtiene el total pagado (sin contar pagos fallidos ni reembolsados)
      */
     public double getTotalPaid() {
-        return paymentMethods.stream()
-                .mapToDouble(PaymentMethod::getAmount)
-                .sum();
+        return Money.toDouble(paymentState.totalPaidCents());
     }
     
     /**
-     * Verifica si el participante ha pagado completamente
+     * Total pagado exacto en céntimos
      */
-    private void checkPaymentStatus() {
-        this.hasPaid = getTotalPaid() >= registrationFee;
+    public long getTotalPaidCents() {
+        return paymentState.totalPaidCents();
+    }
+    
+    /**
+     * Verifica si el participante ha pagado completamente (comparación exacta
+     * en céntimos: 0.1 + 0.2 cubre una tarifa de 0.3)
+     */
+    private boolean coversFee(PaymentState state) {
+        return state.totalPaidCents() >= registrationFeeCents;
+    }
+    
+    private boolean isFullyPaid(PaymentState state) {
+        return coversFee(state) || registrationFeeCents == 0;
     }
     
     /**
      * Verifica si ha pagado completamente
+     * 
+     * Linealizable: lee un único estado publicado, nunca uno a medio actualizar
      */
     public boolean hasFullyPaid() {
-        return hasPaid || registrationFee == 0.0;
+        return isFullyPaid(paymentState);
     }
     
     /**
      * Obtiene los métodos de pago usados
+     * 
+     * La lista es inmutable; para recorrer los pagos sin crearla, usar
+     * forEachPayment
      */
     public List<PaymentMethod> getPaymentMethods() {
-        return new ArrayList<>(paymentMethods);
+        return paymentState.payments();
+    }
+    
+    /**
+     * Recorre los pagos sin crear listas ni iteradores intermedios
+     * 
+     * CONTRAVARIANZA: la acción es Consumer<? super PaymentMethod>, así sirve
+     * un Consumer<Object> o un Consumer<PaymentMethod>
+     */
+    public void forEachPayment(Consumer<? super PaymentMethod> action) {
+        paymentState.forEach(action);
+    }
+    
+    /**
+     * Pliega los montos de todos los pagos (también los fallidos o reembolsados)
+     * sin cajas Double, por ejemplo foldPaymentAmounts(0.0, Double::sum) o
+     * foldPaymentAmounts(0.0, Math::max)
+     */
+    public double foldPaymentAmounts(double identity, DoubleBinaryOperator operator) {
+        Object holder = paymentState.holder();
+        if (holder instanceof PaymentMethod single) {
+            return operator.applyAsDouble(identity, single.getAmount());
+        }
+        double result = identity;
+        for (PaymentMethod payment : paymentState.payments()) {
+            result = operator.applyAsDouble(result, payment.getAmount());
+        }
+        return result;
+    }
+    
+    public int getPaymentCount() {
+        return paymentState.size();
+    }
+
+    /**
+     * Foto inmutable del participante y de su estado de pago
+     * 
+     * Se arma en cada llamada y el participante no la guarda: una copia por
+     * participante duplicaría la memoria del registro. El estado de pago se lee
+     * una sola vez, así que si otro hilo agrega un pago a la vez la foto refleja
+     * el estado de antes o el de después, nunca una mezcla.
+     */
+    public ParticipantView snapshot() {
+        PaymentState state = paymentState;
+        return createView(state.totalPaidCents(), state.size());
+    }
+    
+    /**
+     * Crea la vista de esta subclase con el estado de pago indicado. Las
+     * subclases lo sobrescriben para devolver su propio record con sus campos.
+     */
+    protected ParticipantView createView(long totalPaidCents, int paymentCount) {
+        return new ParticipantView.Basic(id, name, email, type, registrationFeeCents,
+                totalPaidCents, paymentCount);
     }
 
+    /**
+     * Emite el evento de registro en el sink instalado (por defecto, la consola)
+     */
     public void register() {
-        System.out.println("[REGISTRO] " + type + " registrado: " + name);
+        EventSinks.current().emit(EventType.PARTICIPANT_REGISTERED, this);
     }
 
-    public String getInfo() {
-        return String.format("%s: %s (ID: %s, Email: %s)", type, name, id, email);
+    /**
+     * Información del participante; es final para que getInfo() y appendInfo()
+     * no puedan divergir: las subclases agregan sus campos en appendInfo()
+     */
+    public final String getInfo() {
+        StringBuilder out = new StringBuilder(128);
+        appendInfo(out);
+        return out.toString();
+    }
+    
+    /**
+     * Escribe la información del participante en 'out', sin String.format.
+     * Las subclases lo extienden para agregar sus propios campos.
+     */
+    public void appendInfo(StringBuilder out) {
+        out.append(type).append(": ").append(name)
+                .append(" (ID: ").append(id).append(", Email: ").append(email).append(')');
     }
     
     /**
      * Obtiene información de pago
      */
     public String getPaymentInfo() {
-        return String.format("Tarifa: S/ %.2f | Pagado: S/ %.2f | Estado: %s",
-                registrationFee, getTotalPaid(), 
-                hasFullyPaid() ? "✅ COMPLETO" : "⚠️ PENDIENTE");
+        StringBuilder out = new StringBuilder(64);
+        appendPaymentInfo(out);
+        return out.toString();
+    }
+    
+    public void appendPaymentInfo(StringBuilder out) {
+        out.append("Tarifa: S/ ");
+        PaymentState state = paymentState; // Pagado y estado del mismo momento
+        TextFormat.appendMinorUnits(out, registrationFeeCents).append(" | Pagado: S/ ");
+        TextFormat.appendMinorUnits(out, state.totalPaidCents()).append(" | Estado: ")
+                .append(isFullyPaid(state) ? "✅ COMPLETO" : "⚠️ PENDIENTE");
     }
 
     public String getId() {
@@ -117,12 +411,56 @@ public abstract class Participant {
         return type;
     }
     
+    /**
+     * Código del tipo en AttributeDictionary.SHARED: dos participantes tienen
+     * el mismo código si sus tipos son iguales sin distinguir mayúsculas
+     */
+    public int getTypeCode() {
+        return typeCode;
+    }
+    
+    public ParticipantType getParticipantType() {
+        return participantType;
+    }
+    
     public double getRegistrationFee() {
         return registrationFee;
     }
     
+    public long getRegistrationFeeCents() {
+        return registrationFeeCents;
+    }
+    
+    /**
+     * Tarifa menos total pagado, en céntimos (negativo si pagó de más)
+     */
+    public long getOutstandingCents() {
+        return registrationFeeCents - paymentState.totalPaidCents();
+    }
+    
     public boolean hasPaid() {
-        return hasPaid;
+        return coversFee(paymentState);
+    }
+
+    /**
+     * Dos participantes son el mismo registro si comparten id
+     * 
+     * Sin id no hay nada que comparar: cada participante solo es igual a sí mismo
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Participant)) {
+            return false;
+        }
+        return id != null && id.equals(((Participant) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return id == null ? System.identityHashCode(this) : id.hashCode();
     }
 
     @Override
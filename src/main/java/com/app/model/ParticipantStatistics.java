@@ -0,0 +1,187 @@
+package com.app.model;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ParticipantStatistics - Estadísticas de participantes mantenidas al vuelo
+ *
+ * Cuenta participantes, pagos completos y recaudación por tipo sin recorrer
+ * ninguna lista: se actualiza cuando se agrega un participante y cada vez que
+ * cambia lo que ese participante lleva pagado (un pago nuevo, o un pago que
+ * falla o se reembolsa: Participant avisa a las estadísticas donde está
+ * registrado). Leer un valor cuesta O(1) respecto a la cantidad de
+ * participantes.
+ *
+ * Los contadores son LongAdder (contadores repartidos en celdas), así varios
+ * hilos pueden registrar y pagar a la vez sin competir por una sola variable.
+ * La recaudación se acumula en céntimos para no arrastrar errores de redondeo.
+ *
+ * Los tipos se agrupan sin distinguir mayúsculas, como en EventRegistry.
+ */
+public final class ParticipantStatistics {
+
+    private static final class Counters {
+        final String type; // Primer nombre visto para el tipo
+        final LongAdder registered = new LongAdder();
+        final LongAdder fullyPaid = new LongAdder();
+        final LongAdder revenueCents = new LongAdder();
+
+        Counters(String type) {
+            this.type = type;
+        }
+    }
+
+    private final ConcurrentMap<Integer, Counters> byType = new ConcurrentHashMap<>();
+    private final Counters total = new Counters(null);
+
+    /**
+     * Empieza a seguir al participante, con los pagos que ya tenga
+     */
+    public void add(Participant participant) {
+        // Los contadores del tipo existen antes de engancharse, para que un pago
+        // que llegue justo después no se descarte
+        Counters counters = byType.computeIfAbsent(participant.getTypeCode(),
+                code -> new Counters(participant.getType()));
+        Participant.PaymentTotals totals = participant.attachStatistics(this);
+        int paid = totals.fullyPaid() ? 1 : 0;
+        update(counters, 1, paid, totals.totalPaidCents());
+        update(total, 1, paid, totals.totalPaidCents());
+    }
+
+    public void addAll(Iterable<? extends Participant> participants) {
+        for (Participant p : participants) {
+            add(p);
+        }
+    }
+
+    /**
+     * Deja de seguir al participante y descuenta lo que aportaba
+     */
+    public void remove(Participant participant) {
+        Participant.PaymentTotals totals = participant.detachStatistics(this);
+        Counters counters = byType.get(participant.getTypeCode());
+        if (counters == null) {
+            return;
+        }
+        int paid = totals.fullyPaid() ? 1 : 0;
+        update(counters, -1, -paid, -totals.totalPaidCents());
+        update(total, -1, -paid, -totals.totalPaidCents());
+    }
+
+    /**
+     * Foto con la suma de varias estadísticas, por ejemplo las de los shards
+     * de un PartitionedEventRegistry. No sigue a ningún participante: los
+     * pagos posteriores no la cambian, hay que volver a sumar.
+     */
+    public static ParticipantStatistics sumOf(Iterable<ParticipantStatistics> parts) {
+        ParticipantStatistics sum = new ParticipantStatistics();
+        for (ParticipantStatistics part : parts) {
+            part.byType.forEach((code, counters) -> addCounters(
+                    sum.byType.computeIfAbsent(code, c -> new Counters(counters.type)), counters));
+            addCounters(sum.total, part.total);
+        }
+        return sum;
+    }
+
+    /**
+     * Lo llama Participant después de actualizar su total pagado
+     *
+     * @param cents      variación del total en céntimos (negativa si un pago falló o se reembolsó)
+     * @param paidBefore si el participante había pagado completo antes del cambio
+     * @param paidAfter  si pagó completo justo después (se recibe en vez de leerlo,
+     *                   porque otro pago concurrente puede haberlo cambiado otra vez)
+     */
+    void paymentChanged(Participant participant, long cents, boolean paidBefore, boolean paidAfter) {
+        Counters counters = byType.get(participant.getTypeCode());
+        if (counters == null) {
+            return;
+        }
+        int paid = (paidAfter ? 1 : 0) - (paidBefore ? 1 : 0);
+        update(counters, 0, paid, cents);
+        update(total, 0, paid, cents);
+    }
+
+    // Lecturas
+
+    public long getCount() {
+        return total.registered.sum();
+    }
+
+    public long getCount(String type) {
+        Counters counters = counters(type);
+        return counters == null ? 0 : counters.registered.sum();
+    }
+
+    public long getFullyPaidCount() {
+        return total.fullyPaid.sum();
+    }
+
+    public long getFullyPaidCount(String type) {
+        Counters counters = counters(type);
+        return counters == null ? 0 : counters.fullyPaid.sum();
+    }
+
+    public long getPendingCount() {
+        return getCount() - getFullyPaidCount();
+    }
+
+    public long getPendingCount(String type) {
+        return getCount(type) - getFullyPaidCount(type);
+    }
+
+    public double getRevenue() {
+        return Money.toDouble(getRevenueCents());
+    }
+
+    public double getRevenue(String type) {
+        return Money.toDouble(getRevenueCents(type));
+    }
+
+    public long getRevenueCents() {
+        return total.revenueCents.sum();
+    }
+
+    public long getRevenueCents(String type) {
+        Counters counters = counters(type);
+        return counters == null ? 0 : counters.revenueCents.sum();
+    }
+
+    /**
+     * Cantidad de participantes por tipo (un valor por tipo, no por participante)
+     */
+    public Map<String, Long> getCountsByType() {
+        Map<String, Long> counts = new HashMap<>();
+        for (Counters counters : byType.values()) {
+            counts.put(counters.type, counters.registered.sum());
+        }
+        return counts;
+    }
+
+    /**
+     * Contadores del tipo; solo consulta el diccionario, así leer un tipo
+     * desconocido no lo registra
+     */
+    private Counters counters(String type) {
+        return type == null ? null : byType.get(AttributeDictionary.SHARED.findFoldedCode(type));
+    }
+
+    private static void addCounters(Counters target, Counters source) {
+        update(target, source.registered.sum(), source.fullyPaid.sum(), source.revenueCents.sum());
+    }
+
+    private static void update(Counters counters, long registered, long fullyPaid, long cents) {
+        if (registered != 0) {
+            counters.registered.add(registered);
+        }
+        if (fullyPaid != 0) {
+            counters.fullyPaid.add(fullyPaid);
+        }
+        if (cents != 0) {
+            counters.revenueCents.add(cents);
+        }
+    }
+}
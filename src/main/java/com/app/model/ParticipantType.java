@@ -0,0 +1,78 @@
+package com.app.model;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * ParticipantType - Tipos de participante con su tarifa por defecto
+ *
+ * Cada tipo guarda su etiqueta (la que devuelve Participant.getType()) ya
+ * registrada en AttributeDictionary.SHARED, así que crear un participante a
+ * partir del enum no busca ni crea Strings. La tarifa vigente se consulta en
+ * FeeSchedule; defaultFee() es la tarifa de fábrica.
+ */
+public enum ParticipantType {
+    STUDENT("Estudiante", 50.0),
+    TEACHER("Docente", 80.0),
+    ADMINISTRATIVE("Administrativo", 60.0),
+    NATIONAL_PRESENTER("Ponente Nacional", 0.0),
+    INTERNATIONAL_PRESENTER("Ponente Internacional", 0.0),
+    GUEST("Invitado", 0.0),
+    COMMISSION_MEMBER("Miembro comisión", 0.0),
+    PUBLIC("Público", 40.0),
+    AUDIENCE("Público General", 50.0),
+    OTHER(null, 50.0); // Cualquier etiqueta no reconocida
+
+    private static final Map<String, ParticipantType> BY_LABEL = new HashMap<>();
+    private static final Map<String, ParticipantType> BY_FOLDED_LABEL = new HashMap<>();
+
+    static {
+        for (ParticipantType type : values()) {
+            if (type.label != null) {
+                BY_LABEL.put(type.label, type);
+                BY_FOLDED_LABEL.put(type.label.toLowerCase(Locale.ROOT), type);
+            }
+        }
+    }
+
+    private final String label;
+    private final int typeCode;
+    private final double defaultFee;
+
+    ParticipantType(String label, double defaultFee) {
+        this.label = AttributeDictionary.SHARED.intern(label);
+        this.typeCode = label == null ? -1 : AttributeDictionary.SHARED.foldedCode(label);
+        this.defaultFee = defaultFee;
+    }
+
+    /**
+     * Tipo de una etiqueta, sin distinguir mayúsculas. Solo si la etiqueta no
+     * coincide exactamente se pasa a minúsculas.
+     */
+    public static ParticipantType of(String label) {
+        ParticipantType type = BY_LABEL.get(label);
+        if (type == null) {
+            type = BY_FOLDED_LABEL.getOrDefault(label.toLowerCase(Locale.ROOT), OTHER);
+        }
+        return type;
+    }
+
+    /**
+     * Etiqueta canónica (null para OTHER)
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Código de la etiqueta en AttributeDictionary.SHARED (como Participant.getTypeCode())
+     */
+    public int getTypeCode() {
+        return typeCode;
+    }
+
+    public double defaultFee() {
+        return defaultFee;
+    }
+}
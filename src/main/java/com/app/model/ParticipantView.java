@@ -0,0 +1,51 @@
+package com.app.model;
+
+/**
+ * ParticipantView - Foto inmutable de un participante
+ *
+ * La devuelve Participant.snapshot(): un record por subclase (StudentView,
+ * TeacherView, ...) con los datos del participante y su estado de pago en un
+ * mismo momento. Todos sus campos son finales y no tiene referencias a objetos
+ * mutables, así que se puede pasar entre hilos y guardar en caché sin copiar.
+ *
+ * No es sealed: las subclases de Participant (y sus vistas) viven en otros
+ * paquetes. Para distinguirlas se usa pattern matching:
+ * if (view instanceof StudentView student) { ... }
+ */
+public interface ParticipantView {
+
+    String id();
+
+    String name();
+
+    String email();
+
+    String type();
+
+    long registrationFeeCents();
+
+    /**
+     * Total pagado en céntimos (sin pagos fallidos ni reembolsados)
+     */
+    long totalPaidCents();
+
+    int paymentCount();
+
+    default boolean hasFullyPaid() {
+        return totalPaidCents() >= registrationFeeCents() || registrationFeeCents() == 0;
+    }
+
+    /**
+     * Tarifa menos total pagado, en céntimos (negativo si pagó de más)
+     */
+    default long outstandingCents() {
+        return registrationFeeCents() - totalPaidCents();
+    }
+
+    /**
+     * Vista para subclases de Participant que no definen la suya
+     */
+    record Basic(String id, String name, String email, String type, long registrationFeeCents,
+                 long totalPaidCents, int paymentCount) implements ParticipantView {
+    }
+}
@@ -0,0 +1,59 @@
+package com.app.model;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * TextFormat - Formateo de montos sin String.format
+ *
+ * appendMinorUnits escribe un monto en céntimos exactos igual que
+ * String.format("%.2f", monto) (con el separador decimal del locale por
+ * defecto), pero directamente en un StringBuilder y sin interpretar un patrón
+ * en cada llamada.
+ */
+public final class TextFormat {
+
+    private record Symbols(Locale locale, char decimalSeparator, boolean asciiDigits) {
+    }
+
+    private static volatile Symbols symbols = symbolsFor(Locale.getDefault(Locale.Category.FORMAT));
+
+    private TextFormat() {
+    }
+
+    /**
+     * Agrega un monto en céntimos con dos decimales, sin pasar por double
+     */
+    public static StringBuilder appendMinorUnits(StringBuilder out, long minorUnits) {
+        Symbols current = currentSymbols();
+        if (!current.asciiDigits()) {
+            return out.append(String.format("%.2f", BigDecimal.valueOf(minorUnits, 2)));
+        }
+        if (minorUnits < 0) {
+            out.append('-');
+        }
+        long abs = Math.abs(minorUnits);
+        out.append(abs / 100).append(current.decimalSeparator());
+        long fraction = abs % 100;
+        if (fraction < 10) {
+            out.append('0');
+        }
+        return out.append(fraction);
+    }
+
+    private static Symbols currentSymbols() {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        Symbols current = symbols;
+        if (current.locale() != locale) {
+            current = symbolsFor(locale);
+            symbols = current;
+        }
+        return current;
+    }
+
+    private static Symbols symbolsFor(Locale locale) {
+        DecimalFormatSymbols decimal = DecimalFormatSymbols.getInstance(locale);
+        return new Symbols(locale, decimal.getDecimalSeparator(), decimal.getZeroDigit() == '0');
+    }
+}
@@ -1,5 +1,7 @@
 package com.app.organizers;
 
+import com.app.model.AttributeDictionary;
+import com.app.model.ParticipantView;
 import com.app.participants.Teacher;
 
 public class CommissionMember extends Teacher {
@@ -8,7 +10,7 @@ public class CommissionMember extends Teacher {
 
     public CommissionMember(String id, String name, String email, String institution, String specialty, String commissionRole) {
         super(id, name, email, institution, specialty);
-        this.commissionRole = commissionRole;
+        this.commissionRole = AttributeDictionary.SHARED.intern(commissionRole);
     }
 
     public String getCommissionRole() {
@@ -16,7 +18,14 @@ public class CommissionMember extends Teacher {
     }
 
     @Override
-    public String getInfo() {
-        return super.getInfo() + String.format(", Rol en Comisión: %s", commissionRole);
+    public void appendInfo(StringBuilder out) {
+        super.appendInfo(out);
+        out.append(", Rol en Comisión: ").append(commissionRole);
+    }
+
+    @Override
+    protected ParticipantView createView(long totalPaidCents, int paymentCount) {
+        return new CommissionMemberView(id, name, email, type, getRegistrationFeeCents(), totalPaidCents, paymentCount,
+                getInstitution(), getSpecialty(), commissionRole);
     }
 }
@@ -0,0 +1,11 @@
+package com.app.organizers;
+
+import com.app.model.ParticipantView;
+
+/**
+ * CommissionMemberView - Foto inmutable de un CommissionMember (Miembro de la comisión organizadora)
+ */
+public record CommissionMemberView(String id, String name, String email, String type,
+                                   long registrationFeeCents, long totalPaidCents, int paymentCount,
+                                   String institution, String specialty, String commissionRole) implements ParticipantView {
+}
@@ -1,15 +1,18 @@
 package com.app.participants;
 
+import com.app.model.AttributeDictionary;
 import com.app.model.Participant;
+import com.app.model.ParticipantType;
+import com.app.model.ParticipantView;
 
 public class Administrative extends Participant {
     private String department;
     private String position;
 
     public Administrative(String id, String name, String email, String department, String position) {
-        super(id, name, email, "Administrativo");
-        this.department = department;
-        this.position = position;
+        super(id, name, email, ParticipantType.ADMINISTRATIVE);
+        this.department = AttributeDictionary.SHARED.intern(department);
+        this.position = AttributeDictionary.SHARED.intern(position);
     }
 
     public String getDepartment() {
@@ -21,7 +24,14 @@ public class Administrative extends Participant {
     }
 
     @Override
-    public String getInfo() {
-        return super.getInfo() + String.format(", Departamento: %s, Cargo: %s", department, position);
+    public void appendInfo(StringBuilder out) {
+        super.appendInfo(out);
+        out.append(", Departamento: ").append(department).append(", Cargo: ").append(position);
+    }
+
+    @Override
+    protected ParticipantView createView(long totalPaidCents, int paymentCount) {
+        return new AdministrativeView(id, name, email, type, getRegistrationFeeCents(), totalPaidCents, paymentCount,
+                department, position);
     }
 }
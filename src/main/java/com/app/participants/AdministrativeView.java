@@ -0,0 +1,11 @@
+package com.app.participants;
+
+import com.app.model.ParticipantView;
+
+/**
+ * AdministrativeView - Foto inmutable de un Administrative (Administrativo)
+ */
+public record AdministrativeView(String id, String name, String email, String type,
+                                 long registrationFeeCents, long totalPaidCents, int paymentCount,
+                                 String department, String position) implements ParticipantView {
+}
@@ -1,15 +1,18 @@
 package com.app.participants;
 
+import com.app.model.AttributeDictionary;
 import com.app.model.Participant;
+import com.app.model.ParticipantType;
+import com.app.model.ParticipantView;
 
 public class Audience extends Participant {
   private boolean isInternational;
   private String country;
 
   public Audience(String id, String name, String email, boolean isInternational, String country) {
-    super(id, name, email, "Público General");
+    super(id, name, email, ParticipantType.AUDIENCE);
     this.isInternational = isInternational;
-    this.country = country;
+    this.country = AttributeDictionary.SHARED.intern(country);
   }
 
   public boolean isInternational() {
@@ -21,8 +24,15 @@ public class Audience extends Participant {
   }
 
   @Override
-  public String getInfo() {
+  public void appendInfo(StringBuilder out) {
+    super.appendInfo(out);
     String audienceType = isInternational ? "Internacional" : "Nacional";
-    return super.getInfo() + String.format(", Tipo: %s, País: %s", audienceType, country);
+    out.append(", Tipo: ").append(audienceType).append(", País: ").append(country);
+  }
+
+  @Override
+  protected ParticipantView createView(long totalPaidCents, int paymentCount) {
+    return new AudienceView(id, name, email, type, getRegistrationFeeCents(), totalPaidCents, paymentCount,
+        isInternational, country);
   }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.app.participants;
+
+import com.app.model.ParticipantView;
+
+/**
+ * AudienceView - Foto inmutable de un Audience (Público general)
+ */
+public record AudienceView(String id, String name, String email, String type,
+                           long registrationFeeCents, long totalPaidCents, int paymentCount,
+                           boolean international, String country) implements ParticipantView {
+}
@@ -1,13 +1,15 @@
 package com.app.participants;
 
 import com.app.model.Participant;
+import com.app.model.ParticipantType;
+import com.app.model.ParticipantView;
 
 public class Guest extends Participant {
     
     private String organization;
 
     public Guest(String id, String name, String email, String organization) {
-        super(id, name, email, "Invitado");
+        super(id, name, email, ParticipantType.GUEST);
         this.organization = organization;
     }
 
@@ -16,7 +18,14 @@ public class Guest extends Participant {
     }
 
     @Override
-    public String getInfo() {
-        return super.getInfo() + String.format(", Organización: %s", organization);
+    public void appendInfo(StringBuilder out) {
+        super.appendInfo(out);
+        out.append(", Organización: ").append(organization);
+    }
+
+    @Override
+    protected ParticipantView createView(long totalPaidCents, int paymentCount) {
+        return new GuestView(id, name, email, type, getRegistrationFeeCents(), totalPaidCents, paymentCount,
+                organization);
     }
 }
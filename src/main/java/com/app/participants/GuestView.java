@@ -0,0 +1,11 @@
+package com.app.participants;
+
+import com.app.model.ParticipantView;
+
+/**
+ * GuestView - Foto inmutable de un Guest (Invitado)
+ */
+public record GuestView(String id, String name, String email, String type,
+                        long registrationFeeCents, long totalPaidCents, int paymentCount,
+                        String organization) implements ParticipantView {
+}
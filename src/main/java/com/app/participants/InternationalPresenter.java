@@ -1,6 +1,9 @@
 package com.app.participants;
 
+import com.app.model.AttributeDictionary;
 import com.app.model.Participant;
+import com.app.model.ParticipantType;
+import com.app.model.ParticipantView;
 import com.app.model.Presenter;
 
 public class InternationalPresenter extends Participant implements Presenter {
@@ -10,10 +13,10 @@ public class InternationalPresenter extends Participant implements Presenter {
 
   public InternationalPresenter(String id, String name, String email, String topic, String country,
       String institution) {
-    super(id, name, email, "Ponente Internacional");
+    super(id, name, email, ParticipantType.INTERNATIONAL_PRESENTER);
     this.topic = topic;
-    this.country = country;
-    this.institution = institution;
+    this.country = AttributeDictionary.SHARED.intern(country);
+    this.institution = AttributeDictionary.SHARED.intern(institution);
   }
 
   @Override
@@ -34,7 +37,15 @@ public class InternationalPresenter extends Participant implements Presenter {
   }
 
   @Override
-  public String getInfo() {
-    return super.getInfo() + String.format(", Tema: %s, País: %s, Institución: %s", topic, country, institution);
+  public void appendInfo(StringBuilder out) {
+    super.appendInfo(out);
+    out.append(", Tema: ").append(topic).append(", País: ").append(country)
+        .append(", Institución: ").append(institution);
+  }
+
+  @Override
+  protected ParticipantView createView(long totalPaidCents, int paymentCount) {
+    return new InternationalPresenterView(id, name, email, type, getRegistrationFeeCents(), totalPaidCents, paymentCount,
+        topic, country, institution);
   }
 }
\ No newline at end of file
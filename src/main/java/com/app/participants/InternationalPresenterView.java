@@ -0,0 +1,11 @@
+package com.app.participants;
+
+import com.app.model.ParticipantView;
+
+/**
+ * InternationalPresenterView - Foto inmutable de un InternationalPresenter (Ponente internacional)
+ */
+public record InternationalPresenterView(String id, String name, String email, String type,
+                                         long registrationFeeCents, long totalPaidCents, int paymentCount,
+                                         String topic, String country, String institution) implements ParticipantView {
+}
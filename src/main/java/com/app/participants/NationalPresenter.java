@@ -1,6 +1,9 @@
 package com.app.participants;
 
+import com.app.model.AttributeDictionary;
 import com.app.model.Participant;
+import com.app.model.ParticipantType;
+import com.app.model.ParticipantView;
 import com.app.model.Presenter;
 
 public class NationalPresenter extends Participant implements Presenter {
@@ -8,9 +11,9 @@ public class NationalPresenter extends Participant implements Presenter {
   private String institution;
 
   public NationalPresenter(String id, String name, String email, String topic, String institution) {
-    super(id, name, email, "Ponente Nacional");
+    super(id, name, email, ParticipantType.NATIONAL_PRESENTER);
     this.topic = topic;
-    this.institution = institution;
+    this.institution = AttributeDictionary.SHARED.intern(institution);
   }
 
   @Override
@@ -27,7 +30,14 @@ public class NationalPresenter extends Participant implements Presenter {
   }
 
   @Override
-  public String getInfo() {
-    return super.getInfo() + String.format(", Tema: %s, Institución: %s", topic, institution);
+  public void appendInfo(StringBuilder out) {
+    super.appendInfo(out);
+    out.append(", Tema: ").append(topic).append(", Institución: ").append(institution);
+  }
+
+  @Override
+  protected ParticipantView createView(long totalPaidCents, int paymentCount) {
+    return new NationalPresenterView(id, name, email, type, getRegistrationFeeCents(), totalPaidCents, paymentCount,
+        topic, institution);
   }
 }
\ No newline at end of file
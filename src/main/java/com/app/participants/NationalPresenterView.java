@@ -0,0 +1,11 @@
+package com.app.participants;
+
+import com.app.model.ParticipantView;
+
+/**
+ * NationalPresenterView - Foto inmutable de un NationalPresenter (Ponente nacional)
+ */
+public record NationalPresenterView(String id, String name, String email, String type,
+                                    long registrationFeeCents, long totalPaidCents, int paymentCount,
+                                    String topic, String institution) implements ParticipantView {
+}
@@ -1,15 +1,18 @@
 package com.app.participants;
 
+import com.app.model.AttributeDictionary;
 import com.app.model.Participant;
+import com.app.model.ParticipantType;
+import com.app.model.ParticipantView;
 
 public class Student extends Participant {
     private String university;
     private String career;
 
     public Student(String id, String name, String email, String university, String career) {
-        super(id, name, email, "Estudiante");
-        this.university = university;
-        this.career = career;
+        super(id, name, email, ParticipantType.STUDENT);
+        this.university = AttributeDictionary.SHARED.intern(university);
+        this.career = AttributeDictionary.SHARED.intern(career);
     }
 
     public String getUniversity() {
@@ -21,7 +24,14 @@ public class Student extends Participant {
     }
 
     @Override
-    public String getInfo() {
-        return super.getInfo() + String.format(", Universidad: %s, Carrera: %s", university, career);
+    public void appendInfo(StringBuilder out) {
+        super.appendInfo(out);
+        out.append(", Universidad: ").append(university).append(", Carrera: ").append(career);
+    }
+
+    @Override
+    protected ParticipantView createView(long totalPaidCents, int paymentCount) {
+        return new StudentView(id, name, email, type, getRegistrationFeeCents(), totalPaidCents, paymentCount,
+                university, career);
     }
 }
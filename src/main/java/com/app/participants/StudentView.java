@@ -0,0 +1,11 @@
+package com.app.participants;
+
+import com.app.model.ParticipantView;
+
+/**
+ * StudentView - Foto inmutable de un Student (Estudiante)
+ */
+public record StudentView(String id, String name, String email, String type,
+                          long registrationFeeCents, long totalPaidCents, int paymentCount,
+                          String university, String career) implements ParticipantView {
+}
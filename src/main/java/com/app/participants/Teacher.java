@@ -1,15 +1,18 @@
 package com.app.participants;
 
+import com.app.model.AttributeDictionary;
 import com.app.model.Participant;
+import com.app.model.ParticipantType;
+import com.app.model.ParticipantView;
 
 public class Teacher extends Participant {
     private String institution;
     private String specialty;
 
     public Teacher(String id, String name, String email, String institution, String specialty) {
-        super(id, name, email, "Docente");
-        this.institution = institution;
-        this.specialty = specialty;
+        super(id, name, email, ParticipantType.TEACHER);
+        this.institution = AttributeDictionary.SHARED.intern(institution);
+        this.specialty = AttributeDictionary.SHARED.intern(specialty);
     }
 
     public String getInstitution() {
@@ -21,7 +24,14 @@ public class Teacher extends Participant {
     }
 
     @Override
-    public String getInfo() {
-        return super.getInfo() + String.format(", Institución: %s, Especialidad: %s", institution, specialty);
+    public void appendInfo(StringBuilder out) {
+        super.appendInfo(out);
+        out.append(", Institución: ").append(institution).append(", Especialidad: ").append(specialty);
+    }
+
+    @Override
+    protected ParticipantView createView(long totalPaidCents, int paymentCount) {
+        return new TeacherView(id, name, email, type, getRegistrationFeeCents(), totalPaidCents, paymentCount,
+                institution, specialty);
     }
 }
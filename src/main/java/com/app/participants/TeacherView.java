@@ -0,0 +1,11 @@
+package com.app.participants;
+
+import com.app.model.ParticipantView;
+
+/**
+ * TeacherView - Foto inmutable de un Teacher (Docente)
+ */
+public record TeacherView(String id, String name, String email, String type,
+                          long registrationFeeCents, long totalPaidCents, int paymentCount,
+                          String institution, String specialty) implements ParticipantView {
+}
@@ -29,9 +29,9 @@ public class CardPayment extends DigitalPayment {
     }
     
     @Override
-    public String getPaymentDetails() {
-        return String.format("Tarjeta %s | Terminación: ****%s | Titular: %s", 
-                cardType, lastFourDigits, cardholderName);
+    public void appendPaymentDetails(StringBuilder out) {
+        out.append("Tarjeta ").append(cardType).append(" | Terminación: ****").append(lastFourDigits)
+                .append(" | Titular: ").append(cardholderName);
     }
     
     @Override
@@ -1,5 +1,7 @@
 package com.app.payment;
 
+import com.app.model.AttributeDictionary;
+
 /**
  * CashPayment - Implementación para pagos en efectivo
  * 
@@ -20,7 +22,7 @@ public class CashPayment extends PaymentMethod {
         super(amount, payerName);
         this.receivedBy = receivedBy;
         this.receiptNumber = receiptNumber;
-        this.currency = currency;
+        this.currency = AttributeDictionary.SHARED.intern(currency);
     }
     
     @Override
@@ -29,9 +31,9 @@ public class CashPayment extends PaymentMethod {
     }
     
     @Override
-    public String getPaymentDetails() {
-        return String.format("Efectivo (%s) | Recibido por: %s | Recibo: %s", 
-                currency, receivedBy, receiptNumber);
+    public void appendPaymentDetails(StringBuilder out) {
+        out.append("Efectivo (").append(currency).append(") | Recibido por: ").append(receivedBy)
+                .append(" | Recibo: ").append(receiptNumber);
     }
     
     @Override
@@ -80,6 +82,7 @@ public class CashPayment extends PaymentMethod {
         return receiptNumber;
     }
     
+    @Override
     public String getCurrency() {
         return currency;
     }
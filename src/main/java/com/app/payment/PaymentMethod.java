@@ -1,5 +1,9 @@
 package com.app.payment;
 
+import com.app.generics.PersistentVector;
+import com.app.model.Money;
+import com.app.model.TextFormat;
+
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -11,11 +15,15 @@ import java.time.format.DateTimeFormatter;
  */
 public abstract class PaymentMethod {
     
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+    
     protected double amount;
+    private final long amountCents; // El mismo monto, exacto en céntimos
     protected String payerName;
     protected LocalDateTime paymentDate;
     protected String transactionId;
-    protected PaymentStatus status;
+    protected volatile PaymentStatus status;
+    private PersistentVector<StatusListener> listeners; // Quienes siguen los cambios de estado
     
     /**
      * Estado del pago
@@ -25,7 +33,23 @@ public abstract class PaymentMethod {
         PROCESSING,
         COMPLETED,
         FAILED,
-        REFUNDED
+        REFUNDED;
+        
+        /**
+         * Indica si un pago en este estado suma al total pagado del participante
+         */
+        public boolean countsAsPaid() {
+            return this != FAILED && this != REFUNDED;
+        }
+    }
+    
+    /**
+     * Recibe los cambios de estado del pago (Participant lo usa para mantener
+     * su total pagado al día)
+     */
+    @FunctionalInterface
+    public interface StatusListener {
+        void statusChanged(PaymentMethod payment, PaymentStatus previous, PaymentStatus current);
     }
     
     /**
@@ -33,10 +57,12 @@ public abstract class PaymentMethod {
      */
     public PaymentMethod(double amount, String payerName) {
         this.amount = amount;
+        this.amountCents = Money.toMinorUnits(amount);
         this.payerName = payerName;
         this.paymentDate = LocalDateTime.now();
         this.transactionId = generateTransactionId();
         this.status = PaymentStatus.PENDING;
+        this.listeners = PersistentVector.empty();
     }
     
     /**
@@ -45,9 +71,18 @@ public abstract class PaymentMethod {
     public abstract boolean processPayment();
     
     /**
-     * Obtiene detalles específicos del pago (método abstracto)
+     * Obtiene detalles específicos del pago
+     */
+    public String getPaymentDetails() {
+        StringBuilder out = new StringBuilder(64);
+        appendPaymentDetails(out);
+        return out.toString();
+    }
+    
+    /**
+     * Escribe los detalles específicos del pago (método abstracto)
      */
-    public abstract String getPaymentDetails();
+    public abstract void appendPaymentDetails(StringBuilder out);
     
     /**
      * Obtiene el tipo de método de pago
@@ -66,9 +101,20 @@ public abstract class PaymentMethod {
      * Obtiene información general del pago
      */
     public String getInfo() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
-        return String.format("Pago: S/ %.2f | Pagador: %s | Fecha: %s | ID: %s | Estado: %s",
-                amount, payerName, paymentDate.format(formatter), transactionId, status);
+        StringBuilder out = new StringBuilder(128);
+        appendInfo(out);
+        return out.toString();
+    }
+    
+    /**
+     * Escribe la información general del pago en 'out', con el formateador
+     * de fechas compartido y sin String.format
+     */
+    public void appendInfo(StringBuilder out) {
+        out.append("Pago: S/ ");
+        TextFormat.appendMinorUnits(out, amountCents).append(" | Pagador: ").append(payerName).append(" | Fecha: ");
+        DATE_FORMAT.formatTo(paymentDate, out);
+        out.append(" | ID: ").append(transactionId).append(" | Estado: ").append(status);
     }
     
     // Getters y Setters
@@ -77,6 +123,24 @@ public abstract class PaymentMethod {
         return amount;
     }
     
+    /**
+     * Monto exacto en céntimos (lo que usan los totales y los reportes)
+     */
+    public long getAmountCents() {
+        return amountCents;
+    }
+    
+    /**
+     * Moneda del pago (los pagos digitales se cobran en soles)
+     */
+    public String getCurrency() {
+        return Money.DEFAULT_CURRENCY;
+    }
+    
+    public Money getMoney() {
+        return new Money(amountCents, getCurrency());
+    }
+    
     public String getPayerName() {
         return payerName;
     }
@@ -93,12 +157,30 @@ public abstract class PaymentMethod {
         return status;
     }
     
-    public void setStatus(PaymentStatus status) {
+    /**
+     * Sincronizado con addStatusListener: cada listener ve todos los cambios
+     * posteriores a su registro, en orden
+     */
+    public synchronized void setStatus(PaymentStatus status) {
+        PaymentStatus previous = this.status;
         this.status = status;
+        if (previous != status) {
+            for (StatusListener listener : listeners) {
+                listener.statusChanged(this, previous, status);
+            }
+        }
+    }
+    
+    public synchronized void addStatusListener(StatusListener listener) {
+        listeners = listeners.plus(listener);
     }
     
     @Override
     public String toString() {
-        return getInfo() + " | " + getPaymentDetails();
+        StringBuilder out = new StringBuilder(192);
+        appendInfo(out);
+        out.append(" | ");
+        appendPaymentDetails(out);
+        return out.toString();
     }
 }
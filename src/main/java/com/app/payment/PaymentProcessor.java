@@ -1,8 +1,13 @@
 package com.app.payment;
 
+import com.app.model.Money;
+import com.app.model.MoneyTotal;
+import com.app.model.Participant;
+
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * PaymentProcessor - Demostración de COVARIANZA con Pagos
@@ -15,11 +20,11 @@ import java.util.Map;
 public class PaymentProcessor {
     
     private int totalProcessed;
-    private double totalAmount;
+    private long totalAmountCents; // Acumulado exacto en céntimos
     
     public PaymentProcessor() {
         this.totalProcessed = 0;
-        this.totalAmount = 0.0;
+        this.totalAmountCents = 0;
     }
     
     /**
@@ -46,7 +51,7 @@ public class PaymentProcessor {
             // ✅ LECTURA permitida: sabemos que es un PaymentMethod
             payment.processPayment();
             totalProcessed++;
-            totalAmount += payment.getAmount();
+            totalAmountCents = Math.addExact(totalAmountCents, payment.getAmountCents());
         }
         
         // ❌ ESCRITURA NO permitida:
@@ -56,7 +61,7 @@ public class PaymentProcessor {
         System.out.println("\n✅ Procesamiento completado:");
         System.out.println("   • Pagos procesados en este lote: " + payments.size());
         System.out.println("   • Total acumulado: " + totalProcessed + " pagos");
-        System.out.println("   • Monto total: S/ " + String.format("%.2f", totalAmount));
+        System.out.println("   • Monto total: S/ " + String.format("%.2f", getTotalAmount()));
     }
     
     /**
@@ -99,24 +104,64 @@ public class PaymentProcessor {
         System.out.println("║              REPORTE DE PAGOS (Covarianza)                 ║");
         System.out.println("╚════════════════════════════════════════════════════════════╝\n");
         
-        Map<String, Integer> countByType = new HashMap<>();
-        Map<String, Double> amountByType = new HashMap<>();
+        ReportTotals totals = new ReportTotals();
         
         // ✅ LECTURA: Procesamos todos los pagos
         for (PaymentMethod payment : payments) {
-            String type = payment.getPaymentType();
-            countByType.put(type, countByType.getOrDefault(type, 0) + 1);
-            amountByType.put(type, amountByType.getOrDefault(type, 0.0) + payment.getAmount());
+            totals.accept(payment);
         }
         
-        System.out.println("📊 Resumen por Método de Pago:");
-        for (String type : countByType.keySet()) {
-            System.out.printf("   • %s: %d pagos - S/ %.2f%n", 
-                    type, countByType.get(type), amountByType.get(type));
+        totals.print();
+    }
+    
+    /**
+     * COVARIANZA - Ejemplo 3b: Reporte de los pagos de varios participantes
+     * 
+     * Igual que generateReport, pero recorre los pagos de cada participante con
+     * forEachPayment: no hace falta juntarlos antes en otra lista.
+     */
+    public void generateParticipantReport(List<? extends Participant> participants) {
+        System.out.println("\n╔════════════════════════════════════════════════════════════╗");
+        System.out.println("║              REPORTE DE PAGOS (Covarianza)                 ║");
+        System.out.println("╚════════════════════════════════════════════════════════════╝\n");
+        
+        ReportTotals totals = new ReportTotals();
+        for (Participant participant : participants) {
+            participant.forEachPayment(totals);
         }
         
-        double total = amountByType.values().stream().mapToDouble(Double::doubleValue).sum();
-        System.out.printf("\n💰 Total General: S/ %.2f%n", total);
+        totals.print();
+    }
+    
+    /**
+     * Acumula cantidad y monto por método de pago
+     */
+    private static final class ReportTotals implements Consumer<PaymentMethod> {
+        // Un acumulador de céntimos por método: sin Integer ni Double en el mapa
+        private final Map<String, MoneyTotal> byType = new HashMap<>();
+        private final MoneyTotal total = new MoneyTotal();
+        
+        @Override
+        public void accept(PaymentMethod payment) {
+            String type = payment.getPaymentType();
+            MoneyTotal sum = byType.get(type);
+            if (sum == null) {
+                sum = new MoneyTotal();
+                byType.put(type, sum); // put, no computeIfAbsent: conserva el orden de iteración del reporte
+            }
+            sum.add(payment.getAmountCents());
+            total.add(payment.getAmountCents());
+        }
+        
+        void print() {
+            System.out.println("📊 Resumen por Método de Pago:");
+            for (Map.Entry<String, MoneyTotal> entry : byType.entrySet()) {
+                System.out.printf("   • %s: %d pagos - S/ %.2f%n", 
+                        entry.getKey(), entry.getValue().getCount(), entry.getValue().toDouble());
+            }
+        
+            System.out.printf("\n💰 Total General: S/ %.2f%n", total.toDouble());
+        }
     }
     
     /**
@@ -126,12 +171,20 @@ public class PaymentProcessor {
                                    List<? extends PaymentMethod> list2) {
         System.out.println("\n🔹 COVARIANZA - Comparando dos listas de pagos:");
         
-        double total1 = list1.stream().mapToDouble(PaymentMethod::getAmount).sum();
-        double total2 = list2.stream().mapToDouble(PaymentMethod::getAmount).sum();
+        long total1 = sumCents(list1);
+        long total2 = sumCents(list2);
         
-        System.out.printf("   • Lista 1: %d pagos - S/ %.2f%n", list1.size(), total1);
-        System.out.printf("   • Lista 2: %d pagos - S/ %.2f%n", list2.size(), total2);
-        System.out.printf("   • Diferencia: S/ %.2f%n", Math.abs(total1 - total2));
+        System.out.printf("   • Lista 1: %d pagos - S/ %.2f%n", list1.size(), Money.toDouble(total1));
+        System.out.printf("   • Lista 2: %d pagos - S/ %.2f%n", list2.size(), Money.toDouble(total2));
+        System.out.printf("   • Diferencia: S/ %.2f%n", Money.toDouble(Math.abs(total1 - total2)));
+    }
+    
+    private static long sumCents(List<? extends PaymentMethod> payments) {
+        MoneyTotal total = new MoneyTotal();
+        for (PaymentMethod payment : payments) {
+            total.add(payment.getAmountCents());
+        }
+        return total.getMinorUnits();
     }
     
     // Getters
@@ -141,6 +194,10 @@ public class PaymentProcessor {
     }
     
     public double getTotalAmount() {
-        return totalAmount;
+        return Money.toDouble(totalAmountCents);
+    }
+    
+    public long getTotalAmountCents() {
+        return totalAmountCents;
     }
 }
@@ -1,5 +1,7 @@
 package com.app.payment;
 
+import com.app.model.MoneyTotal;
+
 import java.util.List;
 
 /**
@@ -137,19 +139,19 @@ public class PaymentRegistry {
         System.out.println("\n🔄 Transfiriendo " + source.size() + " pagos...");
         
         int transferred = 0;
-        double totalAmount = 0.0;
+        MoneyTotal totalAmount = new MoneyTotal();
         
         for (PaymentMethod payment : source) {
             // ✅ LECTURA de source (covarianza)
             // ✅ ESCRITURA a destination (contravarianza)
             destination.add(payment);
             transferred++;
-            totalAmount += payment.getAmount();
+            totalAmount.add(payment.getAmountCents());
         }
         
         System.out.println("\n✅ Transferencia completada:");
         System.out.println("   • Pagos transferidos: " + transferred);
-        System.out.println("   • Monto total: S/ " + String.format("%.2f", totalAmount));
+        System.out.println("   • Monto total: S/ " + String.format("%.2f", totalAmount.toDouble()));
     }
     
     /**
@@ -26,9 +26,8 @@ public class YapePayment extends DigitalPayment {
     }
     
     @Override
-    public String getPaymentDetails() {
-        return String.format("Yape | Teléfono: %s | Código: %s", 
-                phoneNumber, yapeCode);
+    public void appendPaymentDetails(StringBuilder out) {
+        out.append("Yape | Teléfono: ").append(phoneNumber).append(" | Código: ").append(yapeCode);
     }
     
     @Override
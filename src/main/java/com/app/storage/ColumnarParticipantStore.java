@@ -0,0 +1,336 @@
+package com.app.storage;
+
+import com.app.model.AttributeDictionary;
+import com.app.model.Participant;
+import com.app.participants.Audience;
+import com.app.participants.InternationalPresenter;
+import com.app.participants.NationalPresenter;
+import com.app.participants.Student;
+import com.app.participants.Teacher;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * ColumnarParticipantStore - Almacén por columnas (struct-of-arrays) para estadísticas
+ *
+ * En lugar de recorrer objetos Participant dispersos en el heap, cada atributo
+ * que usan las estadísticas se guarda en su propio arreglo primitivo:
+ * - Tipo: Participant.getTypeCode(), el código sin distinguir mayúsculas de
+ *   AttributeDictionary.SHARED (countByType("docente") cuenta los "Docente")
+ * - Tarifa y total pagado: long en céntimos
+ * - Pago completo: un bit por fila en un BitSet
+ * - Universidad, institución y país: códigos int de diccionario, -1 si la
+ *   subclase no tiene ese atributo
+ *
+ * Las agregaciones y filtros son bucles sobre arreglos contiguos. Cuando hace
+ * falta el objeto, get(fila) devuelve el Participant original.
+ *
+ * Es una foto: los pagos agregados después de append() no se reflejan. Para
+ * estadísticas actualizadas se reconstruye con from(registry.getAllParticipants()),
+ * que en EventRegistry cuesta O(1) obtener.
+ */
+public class ColumnarParticipantStore {
+
+    /**
+     * Atributos propios de algunas subclases que se guardan como columna
+     */
+    public enum Attribute {
+        UNIVERSITY,   // Student
+        INSTITUTION,  // Teacher, CommissionMember, NationalPresenter, InternationalPresenter
+        COUNTRY       // InternationalPresenter, Audience
+    }
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int size;
+    private Participant[] rows;
+    private int[] typeCodes;
+    private long[] feeCents;
+    private long[] paidCents;
+    private final BitSet fullyPaid;
+    private final int[][] attributeCodes; // [atributo][fila]
+    private final Map<Integer, String> typeLabels; // Código de tipo -> primera etiqueta vista
+
+    // Diccionarios: valor -> código y código -> valor
+    private final Map<String, Integer> codes;
+    private final List<String> values;
+
+    public ColumnarParticipantStore() {
+        this.rows = new Participant[INITIAL_CAPACITY];
+        this.typeCodes = new int[INITIAL_CAPACITY];
+        this.feeCents = new long[INITIAL_CAPACITY];
+        this.paidCents = new long[INITIAL_CAPACITY];
+        this.fullyPaid = new BitSet(INITIAL_CAPACITY);
+        this.attributeCodes = new int[Attribute.values().length][INITIAL_CAPACITY];
+        this.typeLabels = new HashMap<>();
+        this.codes = new HashMap<>();
+        this.values = new ArrayList<>();
+    }
+
+    /**
+     * Construye el almacén a partir de cualquier lista de participantes
+     */
+    public static ColumnarParticipantStore from(List<? extends Participant> participants) {
+        ColumnarParticipantStore store = new ColumnarParticipantStore();
+        store.ensureCapacity(participants.size());
+        for (Participant p : participants) {
+            store.append(p);
+        }
+        return store;
+    }
+
+    /**
+     * Agrega una fila con los valores actuales del participante
+     */
+    public void append(Participant p) {
+        ensureCapacity(size + 1);
+        int row = size++;
+        rows[row] = p;
+        typeCodes[row] = p.getTypeCode();
+        if (p.getTypeCode() >= 0) {
+            typeLabels.putIfAbsent(p.getTypeCode(), p.getType());
+        }
+        feeCents[row] = p.getRegistrationFeeCents();
+        paidCents[row] = p.getTotalPaidCents();
+        fullyPaid.set(row, p.hasFullyPaid());
+        attributeCodes[Attribute.UNIVERSITY.ordinal()][row] = encode(universityOf(p));
+        attributeCodes[Attribute.INSTITUTION.ordinal()][row] = encode(institutionOf(p));
+        attributeCodes[Attribute.COUNTRY.ordinal()][row] = encode(countryOf(p));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Devuelve el participante de la fila
+     */
+    public Participant get(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Fila " + row + ", tamaño " + size);
+        }
+        return rows[row];
+    }
+
+    /**
+     * Vista de solo lectura de las filas indicadas (por ejemplo, el resultado de un filtro)
+     */
+    public List<Participant> participants(int[] selectedRows) {
+        return new RowView(selectedRows);
+    }
+
+    // Agregaciones
+
+    public int countByType(String type) {
+        int code = typeCodeOf(type);
+        if (code < 0) {
+            return 0;
+        }
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (typeCodes[i] == code) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Cantidad de participantes por tipo, en una sola pasada (la clave es la
+     * primera etiqueta vista de cada tipo)
+     */
+    public Map<String, Integer> countsByType() {
+        int maxCode = -1;
+        for (int code : typeLabels.keySet()) {
+            maxCode = Math.max(maxCode, code);
+        }
+        int[] counts = new int[maxCode + 1];
+        for (int i = 0; i < size; i++) {
+            if (typeCodes[i] >= 0) {
+                counts[typeCodes[i]]++;
+            }
+        }
+        Map<String, Integer> result = new HashMap<>();
+        for (Map.Entry<Integer, String> label : typeLabels.entrySet()) {
+            result.put(label.getValue(), counts[label.getKey()]);
+        }
+        return result;
+    }
+
+    public int countFullyPaid() {
+        return fullyPaid.cardinality();
+    }
+
+    public int countFullyPaid(String type) {
+        int code = typeCodeOf(type);
+        int count = 0;
+        for (int i = fullyPaid.nextSetBit(0); i >= 0 && code >= 0; i = fullyPaid.nextSetBit(i + 1)) {
+            if (typeCodes[i] == code) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public long totalPaidCents() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += paidCents[i];
+        }
+        return total;
+    }
+
+    public long totalPaidCents(String type) {
+        int code = typeCodeOf(type);
+        long total = 0;
+        for (int i = 0; i < size && code >= 0; i++) {
+            if (typeCodes[i] == code) {
+                total += paidCents[i];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Saldo pendiente total (tarifa menos lo pagado, sin contar excedentes)
+     */
+    public long outstandingCents() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += Math.max(0, feeCents[i] - paidCents[i]);
+        }
+        return total;
+    }
+
+    // Filtros
+
+    public int[] rowsByType(String type) {
+        return rowsWhere(typeCodes, typeCodeOf(type));
+    }
+
+    public int[] rowsByAttribute(Attribute attribute, String value) {
+        return rowsWhere(attributeCodes[attribute.ordinal()], codeOf(value));
+    }
+
+    public int countByAttribute(Attribute attribute, String value) {
+        int code = codeOf(value);
+        int[] column = attributeCodes[attribute.ordinal()];
+        int count = 0;
+        for (int i = 0; i < size && code >= 0; i++) {
+            if (column[i] == code) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int[] rowsWhere(int[] column, int code) {
+        if (code < 0) {
+            return new int[0];
+        }
+        int[] result = new int[16];
+        int found = 0;
+        for (int i = 0; i < size; i++) {
+            if (column[i] == code) {
+                if (found == result.length) {
+                    result = Arrays.copyOf(result, found * 2);
+                }
+                result[found++] = i;
+            }
+        }
+        return Arrays.copyOf(result, found);
+    }
+
+    // Diccionario
+
+    private int encode(String value) {
+        if (value == null) {
+            return -1;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    /**
+     * Código de tipo sin distinguir mayúsculas; solo consulta el diccionario
+     * compartido, así un tipo desconocido no queda registrado (-1)
+     */
+    private static int typeCodeOf(String type) {
+        return type == null ? -1 : AttributeDictionary.SHARED.findFoldedCode(type);
+    }
+
+    private int codeOf(String value) {
+        Integer code = value == null ? null : codes.get(value);
+        return code == null ? -1 : code;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= rows.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, rows.length * 2);
+        rows = Arrays.copyOf(rows, newCapacity);
+        typeCodes = Arrays.copyOf(typeCodes, newCapacity);
+        feeCents = Arrays.copyOf(feeCents, newCapacity);
+        paidCents = Arrays.copyOf(paidCents, newCapacity);
+        for (int a = 0; a < attributeCodes.length; a++) {
+            attributeCodes[a] = Arrays.copyOf(attributeCodes[a], newCapacity);
+        }
+    }
+
+    // Atributos por subclase
+
+    private static String universityOf(Participant p) {
+        return p instanceof Student s ? s.getUniversity() : null;
+    }
+
+    private static String institutionOf(Participant p) {
+        return switch (p) {
+            case Teacher t -> t.getInstitution();
+            case NationalPresenter n -> n.getInstitution();
+            case InternationalPresenter i -> i.getInstitution();
+            default -> null;
+        };
+    }
+
+    private static String countryOf(Participant p) {
+        return switch (p) {
+            case InternationalPresenter i -> i.getCountry();
+            case Audience a -> a.getCountry();
+            default -> null;
+        };
+    }
+
+    /**
+     * Vista de solo lectura sobre un subconjunto de filas
+     */
+    private class RowView extends AbstractList<Participant> implements RandomAccess {
+        private final int[] selectedRows;
+
+        RowView(int[] selectedRows) {
+            this.selectedRows = selectedRows;
+        }
+
+        @Override
+        public Participant get(int index) {
+            return rows[selectedRows[index]];
+        }
+
+        @Override
+        public int size() {
+            return selectedRows.length;
+        }
+    }
+}
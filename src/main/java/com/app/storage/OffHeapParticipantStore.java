@@ -0,0 +1,379 @@
+package com.app.storage;
+
+import com.app.model.AttributeDictionary;
+import com.app.model.Participant;
+import com.app.model.ParticipantView;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.RandomAccess;
+
+/**
+ * OffHeapParticipantStore - Almacén de participantes fuera del heap
+ *
+ * Los datos de registro se guardan en ByteBuffers directos, que el GC no
+ * recorre ni copia:
+ * - Registros de ancho fijo (RECORD_SIZE bytes) con la etiqueta de subclase,
+ *   el hash del id, tarifa, total pagado y cantidad de pagos (tomados de una
+ *   misma snapshot()), el código de la etiqueta de tipo y, para cada campo de
+ *   texto, su dirección y longitud en el arena de strings
+ * - Un arena de strings UTF-8 en páginas de ARENA_PAGE_SIZE bytes
+ * - Una tabla hash de direccionamiento abierto (id -> fila), también directa
+ *
+ * En el heap solo quedan los arreglos de filas por tipo (int[]).
+ *
+ * La lectura usa la misma forma que EventRegistry (getAllParticipants,
+ * getParticipantsByType, findById), pero entrega ParticipantView y no
+ * Participant: cada get() arma la vista de la subclase original con la tarifa
+ * y el estado de pago guardados, así hasFullyPaid() y outstandingCents() dan
+ * lo mismo que al copiar aunque la FeeSchedule haya cambiado después. Los
+ * pagos individuales no se copian; solo su total y su cantidad.
+ *
+ * Es una foto, como ColumnarParticipantStore: se conecta a un registro con
+ * from(registry.getAllParticipants()).
+ *
+ * Los buffers directos se liberan con close(): el almacén suelta todas sus
+ * páginas y queda inutilizable. Java 21 no permite liberar un ByteBuffer
+ * directo en el acto, así que la memoria vuelve al sistema en el siguiente
+ * GC que los recolecte; lo que close() garantiza es que el almacén ya no los
+ * retiene.
+ *
+ * No es thread-safe para escrituras.
+ */
+public class OffHeapParticipantStore extends AbstractList<ParticipantView>
+        implements RandomAccess, AutoCloseable {
+
+    // Diseño del registro
+    private static final int TAG = 0;
+    private static final int ID_HASH = 4;
+    private static final int FEE_CENTS = 8;
+    private static final int PAID_CENTS = 16;
+    private static final int PAYMENT_COUNT = 24;
+    private static final int TYPE_CODE = 28; // Código exacto de getType() en AttributeDictionary.SHARED
+    private static final int FIELDS = 32;
+    private static final int FIELD_SLOT = 12; // long dirección + int longitud
+    public static final int RECORD_SIZE = FIELDS + ParticipantCodec.MAX_FIELDS * FIELD_SLOT;
+
+    private static final int RECORDS_PER_PAGE = 8192;
+    public static final int ARENA_PAGE_SIZE = 1 << 20;
+    private static final int INITIAL_TABLE_SIZE = 1024;
+
+    private final List<ByteBuffer> recordPages = new ArrayList<>();
+    private final List<ByteBuffer> arenaPages = new ArrayList<>();
+    private ByteBuffer idTable; // Cada entrada: fila + 1, 0 si está libre
+    private int tableMask;
+    private int size;
+    private long offHeapBytes;
+    private boolean closed;
+
+    // Filas por tipo (clave: código sin distinguir mayúsculas, como en EventRegistry)
+    private final Map<Integer, int[]> rowsByType = new HashMap<>();
+    private final Map<Integer, Integer> countByType = new HashMap<>();
+
+    public OffHeapParticipantStore() {
+        allocateTable(INITIAL_TABLE_SIZE);
+    }
+
+    /**
+     * Construye el almacén a partir de cualquier lista de participantes
+     */
+    public static OffHeapParticipantStore from(List<? extends Participant> participants) {
+        OffHeapParticipantStore store = new OffHeapParticipantStore();
+        store.appendAll(participants);
+        return store;
+    }
+
+    /**
+     * Copia fuera del heap los datos de registro de todos los participantes
+     */
+    public void appendAll(List<? extends Participant> participants) {
+        for (Participant p : participants) {
+            append(p);
+        }
+    }
+
+    /**
+     * Copia fuera del heap los datos de registro y el estado de pago actual del participante
+     *
+     * @return la fila asignada
+     */
+    public int append(Participant p) {
+        ensureOpen();
+        byte tag = ParticipantCodec.tagOf(p);
+        String[] fields = ParticipantCodec.fieldsOf(p);
+        ParticipantView state = p.snapshot();
+
+        int row = size;
+        if (row / RECORDS_PER_PAGE == recordPages.size()) {
+            recordPages.add(allocate(RECORDS_PER_PAGE * RECORD_SIZE));
+        }
+        ByteBuffer page = recordPages.get(row / RECORDS_PER_PAGE);
+        int base = (row % RECORDS_PER_PAGE) * RECORD_SIZE;
+
+        page.put(base + TAG, tag);
+        page.putInt(base + ID_HASH, hash(p.getId()));
+        page.putLong(base + FEE_CENTS, state.registrationFeeCents());
+        page.putLong(base + PAID_CENTS, state.totalPaidCents());
+        page.putInt(base + PAYMENT_COUNT, state.paymentCount());
+        page.putInt(base + TYPE_CODE, p.getType() == null ? -1 : AttributeDictionary.SHARED.code(p.getType()));
+        for (int i = 0; i < fields.length; i++) {
+            int slot = base + FIELDS + i * FIELD_SLOT;
+            if (fields[i] == null) {
+                page.putLong(slot, 0);
+                page.putInt(slot + 8, -1);
+            } else {
+                byte[] bytes = fields[i].getBytes(StandardCharsets.UTF_8);
+                page.putLong(slot, store(bytes));
+                page.putInt(slot + 8, bytes.length);
+            }
+        }
+        size++;
+
+        indexId(row, hash(p.getId()));
+        indexType(row, p.getTypeCode());
+        return row;
+    }
+
+    // API de lectura (como la de EventRegistry, con vistas)
+
+    public List<ParticipantView> getAllParticipants() {
+        return this;
+    }
+
+    public List<ParticipantView> getParticipantsByType(String type) {
+        // Solo consulta el diccionario: un tipo desconocido no se registra
+        int key = type == null ? -1 : AttributeDictionary.SHARED.findFoldedCode(type);
+        int[] rows = rowsByType.getOrDefault(key, new int[0]);
+        int count = countByType.getOrDefault(key, 0);
+        return new AbstractList<ParticipantView>() {
+            @Override
+            public ParticipantView get(int index) {
+                if (index >= count) {
+                    throw new IndexOutOfBoundsException("Índice " + index + ", tamaño " + count);
+                }
+                return OffHeapParticipantStore.this.get(rows[index]);
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+
+    public Optional<ParticipantView> findById(String id) {
+        ensureOpen();
+        int row = rowOf(id);
+        return row < 0 ? Optional.empty() : Optional.of(get(row));
+    }
+
+    /**
+     * Vista de la fila con la tarifa y el estado de pago guardados
+     */
+    @Override
+    public ParticipantView get(int row) {
+        ensureOpen();
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Fila " + row + ", tamaño " + size);
+        }
+        ByteBuffer page = recordPages.get(row / RECORDS_PER_PAGE);
+        int base = (row % RECORDS_PER_PAGE) * RECORD_SIZE;
+        byte tag = page.get(base + TAG);
+        int count = ParticipantCodec.fieldCount(tag);
+        String[] fields = new String[count];
+        for (int i = 0; i < count; i++) {
+            fields[i] = readField(page, base + FIELDS + i * FIELD_SLOT);
+        }
+        int typeCode = page.getInt(base + TYPE_CODE);
+        String type = typeCode < 0 ? null : AttributeDictionary.SHARED.value(typeCode);
+        return ParticipantCodec.view(tag, fields, type, page.getLong(base + FEE_CENTS),
+                page.getLong(base + PAID_CENTS), page.getInt(base + PAYMENT_COUNT));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public long getFeeCents(int row) {
+        ensureOpen();
+        return recordPage(row).getLong(recordBase(row) + FEE_CENTS);
+    }
+
+    public long getPaidCents(int row) {
+        ensureOpen();
+        return recordPage(row).getLong(recordBase(row) + PAID_CENTS);
+    }
+
+    /**
+     * Bytes reservados fuera del heap (registros, arena y tabla de ids)
+     */
+    public long getOffHeapBytes() {
+        return offHeapBytes;
+    }
+
+    /**
+     * Suelta todos los buffers directos; después de esto el almacén queda
+     * vacío y cualquier lectura o escritura lanza IllegalStateException.
+     * Llamarlo más de una vez no hace nada.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        recordPages.clear();
+        arenaPages.clear();
+        idTable = null;
+        rowsByType.clear();
+        countByType.clear();
+        size = 0;
+        offHeapBytes = 0;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    // Arena de strings
+
+    private long store(byte[] bytes) {
+        ByteBuffer page = arenaPages.isEmpty() ? null : arenaPages.get(arenaPages.size() - 1);
+        if (page == null || page.remaining() < bytes.length) {
+            page = allocate(Math.max(ARENA_PAGE_SIZE, bytes.length));
+            arenaPages.add(page);
+        }
+        long address = ((long) (arenaPages.size() - 1) << 32) | page.position();
+        page.put(bytes);
+        return address;
+    }
+
+    private String readField(ByteBuffer page, int slot) {
+        int length = page.getInt(slot + 8);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        long address = page.getLong(slot);
+        arenaPages.get((int) (address >>> 32)).get((int) address, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compara el campo id de la fila con los bytes dados sin crear Strings
+     */
+    private boolean idEquals(int row, byte[] id) {
+        ByteBuffer page = recordPage(row);
+        int slot = recordBase(row) + FIELDS;
+        int length = page.getInt(slot + 8);
+        if (id == null || length < 0) {
+            return id == null && length < 0;
+        }
+        if (length != id.length) {
+            return false;
+        }
+        long address = page.getLong(slot);
+        ByteBuffer arena = arenaPages.get((int) (address >>> 32));
+        int offset = (int) address;
+        for (int i = 0; i < length; i++) {
+            if (arena.get(offset + i) != id[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Tabla hash de ids (direccionamiento abierto, sondeo lineal)
+
+    private void indexId(int row, int hash) {
+        if (size * 2 > tableMask + 1) {
+            rehash();
+        }
+        putInTable(row, hash);
+    }
+
+    private void putInTable(int row, int hash) {
+        int slot = hash & tableMask;
+        while (idTable.getInt(slot * 4) != 0) {
+            slot = (slot + 1) & tableMask;
+        }
+        idTable.putInt(slot * 4, row + 1);
+    }
+
+    private int rowOf(String id) {
+        byte[] bytes = id == null ? null : id.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(id);
+        int slot = hash & tableMask;
+        int entry;
+        while ((entry = idTable.getInt(slot * 4)) != 0) {
+            int row = entry - 1;
+            if (recordPage(row).getInt(recordBase(row) + ID_HASH) == hash && idEquals(row, bytes)) {
+                return row;
+            }
+            slot = (slot + 1) & tableMask;
+        }
+        return -1;
+    }
+
+    private void rehash() {
+        offHeapBytes -= idTable.capacity();
+        allocateTable((tableMask + 1) * 2);
+        for (int row = 0; row < size - 1; row++) {
+            putInTable(row, recordPage(row).getInt(recordBase(row) + ID_HASH));
+        }
+    }
+
+    private void allocateTable(int slots) {
+        idTable = allocate(slots * 4);
+        tableMask = slots - 1;
+    }
+
+    // Índice por tipo (en el heap, solo enteros)
+
+    private void indexType(int row, int key) {
+        int count = countByType.getOrDefault(key, 0);
+        int[] rows = rowsByType.get(key);
+        if (rows == null) {
+            rows = new int[16];
+        } else if (count == rows.length) {
+            rows = Arrays.copyOf(rows, count * 2);
+        }
+        rows[count] = row;
+        rowsByType.put(key, rows);
+        countByType.put(key, count + 1);
+    }
+
+    // Utilidades
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("El almacén fuera del heap ya se cerró");
+        }
+    }
+
+    private ByteBuffer recordPage(int row) {
+        return recordPages.get(row / RECORDS_PER_PAGE);
+    }
+
+    private static int recordBase(int row) {
+        return (row % RECORDS_PER_PAGE) * RECORD_SIZE;
+    }
+
+    private ByteBuffer allocate(int bytes) {
+        offHeapBytes += bytes;
+        return ByteBuffer.allocateDirect(bytes);
+    }
+
+    private static int hash(String id) {
+        int h = id == null ? 0 : id.hashCode();
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,149 @@
+package com.app.storage;
+
+import com.app.model.Participant;
+import com.app.model.ParticipantView;
+import com.app.organizers.CommissionMember;
+import com.app.organizers.CommissionMemberView;
+import com.app.participants.Administrative;
+import com.app.participants.AdministrativeView;
+import com.app.participants.Audience;
+import com.app.participants.AudienceView;
+import com.app.participants.Guest;
+import com.app.participants.GuestView;
+import com.app.participants.InternationalPresenter;
+import com.app.participants.InternationalPresenterView;
+import com.app.participants.NationalPresenter;
+import com.app.participants.NationalPresenterView;
+import com.app.participants.Student;
+import com.app.participants.StudentView;
+import com.app.participants.Teacher;
+import com.app.participants.TeacherView;
+
+/**
+ * ParticipantCodec - Descompone un Participant en una etiqueta de subclase
+ * y una lista de campos de texto, y lo reconstruye a partir de ellos
+ *
+ * Es el formato común de los almacenamientos de este paquete. Solo guarda
+ * los datos de registro: los pagos no forman parte del formato (el almacén
+ * fuera del heap guarda aparte su total y cantidad, y los entrega con view()).
+ */
+final class ParticipantCodec {
+
+    static final byte STUDENT = 1;
+    static final byte TEACHER = 2;
+    static final byte ADMINISTRATIVE = 3;
+    static final byte NATIONAL_PRESENTER = 4;
+    static final byte INTERNATIONAL_PRESENTER = 5;
+    static final byte GUEST = 6;
+    static final byte AUDIENCE = 7;
+    static final byte COMMISSION_MEMBER = 8;
+
+    /**
+     * Número máximo de campos de cualquier subclase (id, nombre, email y hasta 4 propios)
+     */
+    static final int MAX_FIELDS = 6;
+
+    private ParticipantCodec() {
+    }
+
+    /**
+     * Etiqueta de la subclase concreta
+     */
+    static byte tagOf(Participant participant) {
+        // CommissionMember extiende Teacher, así que debe evaluarse primero
+        return switch (participant) {
+            case CommissionMember m -> COMMISSION_MEMBER;
+            case Student s -> STUDENT;
+            case Teacher t -> TEACHER;
+            case Administrative a -> ADMINISTRATIVE;
+            case NationalPresenter p -> NATIONAL_PRESENTER;
+            case InternationalPresenter p -> INTERNATIONAL_PRESENTER;
+            case Guest g -> GUEST;
+            case Audience a -> AUDIENCE;
+            default -> throw new IllegalArgumentException(
+                    "Tipo de participante no soportado: " + participant.getClass().getName());
+        };
+    }
+
+    /**
+     * Campos de texto del participante, en el orden de su constructor
+     */
+    static String[] fieldsOf(Participant p) {
+        return switch (p) {
+            case CommissionMember m -> new String[] {m.getId(), m.getName(), m.getEmail(),
+                    m.getInstitution(), m.getSpecialty(), m.getCommissionRole()};
+            case Student s -> new String[] {s.getId(), s.getName(), s.getEmail(),
+                    s.getUniversity(), s.getCareer()};
+            case Teacher t -> new String[] {t.getId(), t.getName(), t.getEmail(),
+                    t.getInstitution(), t.getSpecialty()};
+            case Administrative a -> new String[] {a.getId(), a.getName(), a.getEmail(),
+                    a.getDepartment(), a.getPosition()};
+            case NationalPresenter n -> new String[] {n.getId(), n.getName(), n.getEmail(),
+                    n.getTopic(), n.getInstitution()};
+            case InternationalPresenter i -> new String[] {i.getId(), i.getName(), i.getEmail(),
+                    i.getTopic(), i.getCountry(), i.getInstitution()};
+            case Guest g -> new String[] {g.getId(), g.getName(), g.getEmail(),
+                    g.getOrganization()};
+            case Audience a -> new String[] {a.getId(), a.getName(), a.getEmail(),
+                    Boolean.toString(a.isInternational()), a.getCountry()};
+            default -> throw new IllegalArgumentException(
+                    "Tipo de participante no soportado: " + p.getClass().getName());
+        };
+    }
+
+    /**
+     * Reconstruye el participante a partir de su etiqueta y sus campos
+     */
+    static Participant create(byte tag, String[] f) {
+        return switch (tag) {
+            case STUDENT -> new Student(f[0], f[1], f[2], f[3], f[4]);
+            case TEACHER -> new Teacher(f[0], f[1], f[2], f[3], f[4]);
+            case ADMINISTRATIVE -> new Administrative(f[0], f[1], f[2], f[3], f[4]);
+            case NATIONAL_PRESENTER -> new NationalPresenter(f[0], f[1], f[2], f[3], f[4]);
+            case INTERNATIONAL_PRESENTER -> new InternationalPresenter(f[0], f[1], f[2], f[3], f[4], f[5]);
+            case GUEST -> new Guest(f[0], f[1], f[2], f[3]);
+            case AUDIENCE -> new Audience(f[0], f[1], f[2], Boolean.parseBoolean(f[3]), f[4]);
+            case COMMISSION_MEMBER -> new CommissionMember(f[0], f[1], f[2], f[3], f[4], f[5]);
+            default -> throw new IllegalArgumentException("Etiqueta de participante desconocida: " + tag);
+        };
+    }
+
+    /**
+     * Crea la vista de la subclase a partir de sus campos y de un estado de
+     * pago guardado, sin construir el participante (así la tarifa es la
+     * guardada y no la de la FeeSchedule vigente)
+     */
+    static ParticipantView view(byte tag, String[] f, String type, long feeCents, long paidCents,
+                                int paymentCount) {
+        return switch (tag) {
+            case STUDENT -> new StudentView(f[0], f[1], f[2], type, feeCents, paidCents, paymentCount,
+                    f[3], f[4]);
+            case TEACHER -> new TeacherView(f[0], f[1], f[2], type, feeCents, paidCents, paymentCount,
+                    f[3], f[4]);
+            case ADMINISTRATIVE -> new AdministrativeView(f[0], f[1], f[2], type, feeCents, paidCents,
+                    paymentCount, f[3], f[4]);
+            case NATIONAL_PRESENTER -> new NationalPresenterView(f[0], f[1], f[2], type, feeCents, paidCents,
+                    paymentCount, f[3], f[4]);
+            case INTERNATIONAL_PRESENTER -> new InternationalPresenterView(f[0], f[1], f[2], type, feeCents,
+                    paidCents, paymentCount, f[3], f[4], f[5]);
+            case GUEST -> new GuestView(f[0], f[1], f[2], type, feeCents, paidCents, paymentCount, f[3]);
+            case AUDIENCE -> new AudienceView(f[0], f[1], f[2], type, feeCents, paidCents, paymentCount,
+                    Boolean.parseBoolean(f[3]), f[4]);
+            case COMMISSION_MEMBER -> new CommissionMemberView(f[0], f[1], f[2], type, feeCents, paidCents,
+                    paymentCount, f[3], f[4], f[5]);
+            default -> throw new IllegalArgumentException("Etiqueta de participante desconocida: " + tag);
+        };
+    }
+
+    /**
+     * Cantidad de campos que usa cada etiqueta
+     */
+    static int fieldCount(byte tag) {
+        return switch (tag) {
+            case GUEST -> 4;
+            case INTERNATIONAL_PRESENTER, COMMISSION_MEMBER -> 6;
+            case STUDENT, TEACHER, ADMINISTRATIVE, NATIONAL_PRESENTER, AUDIENCE -> 5;
+            default -> throw new IllegalArgumentException("Etiqueta de participante desconocida: " + tag);
+        };
+    }
+}
@@ -0,0 +1,396 @@
+package com.app.storage;
+
+import com.app.model.Participant;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * ParticipantJournal - Diario de registros en disco, solo de escritura al final
+ *
+ * Cada registro de participante se agrega a un segmento de tamaño fijo mapeado
+ * en memoria (FileChannel + MappedByteBuffer). Cuando el segmento se llena se
+ * abre el siguiente (journal-000000.seg, journal-000001.seg, ...).
+ *
+ * Formato de cada entrada:
+ *   [int longitud][int CRC32C][byte etiqueta][campos: int longitud + UTF-8, -1 si es null]
+ *
+ * - Group commit: append() no fuerza el disco; sync() lo hace una vez por lote,
+ *   y como máximo cada groupCommitSize entradas pendientes.
+ * - Recuperación: al abrir se recorren los segmentos en orden. Una entrada con
+ *   longitud imposible o CRC inválido (escritura interrumpida) marca el final:
+ *   se descarta junto con todo lo que venga después.
+ * - Bloques sin estados a medias: checkWritable y reserve validan el bloque y
+ *   abren el segmento siguiente si hace falta antes de que EventRegistry
+ *   toque su estado, así que append ya no falla por el tipo ni por la E/S.
+ *
+ * No es thread-safe: EventRegistry lo usa bajo su candado de escritura.
+ * Solo guarda los datos de registro; los pagos no se persisten.
+ */
+public class ParticipantJournal implements Closeable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    public static final int DEFAULT_GROUP_COMMIT_SIZE = 4096;
+
+    private static final int HEADER_SIZE = 8; // longitud + CRC
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int groupCommitSize;
+    private final CRC32C crc = new CRC32C();
+
+    private List<Path> segments;
+    private FileChannel channel;
+    private MappedByteBuffer buffer; // Segmento actual, posicionado al final de lo escrito
+    private ByteBuffer scratch;      // Buffer reutilizable para codificar una entrada
+    private long recordCount;
+    private int pending;             // Entradas escritas desde el último sync()
+
+    /**
+     * Abre (o crea) un diario con los valores por defecto
+     */
+    public static ParticipantJournal open(Path directory) throws IOException {
+        return new ParticipantJournal(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_GROUP_COMMIT_SIZE);
+    }
+
+    public ParticipantJournal(Path directory, int segmentSize, int groupCommitSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.groupCommitSize = groupCommitSize;
+        this.scratch = ByteBuffer.allocate(1024);
+
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            this.segments = new ArrayList<>(files
+                    .filter(f -> f.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .filter(f -> f.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList());
+        }
+
+        if (segments.isEmpty()) {
+            openSegment(0, 0);
+        } else {
+            recover();
+        }
+    }
+
+    /**
+     * Verifica que el participante se pueda guardar en el diario, sin escribir nada
+     *
+     * @throws IllegalArgumentException si su subclase no está soportada o la
+     *                                  entrada no cabe en un segmento
+     */
+    public void checkWritable(Participant participant) {
+        ParticipantCodec.tagOf(participant);
+        int length = encodedLength(participant);
+        if (HEADER_SIZE + length > segmentSize) {
+            throw new IllegalArgumentException("Entrada de " + length + " bytes no cabe en un segmento");
+        }
+    }
+
+    /**
+     * Deja lugar en el segmento actual para todas las entradas del bloque: si
+     * no entran, abre el segmento siguiente ahora, antes de escribir ninguna.
+     * Un bloque más grande que un segmento entero igual se reparte entre varios.
+     *
+     * @throws IOException si no se pudo abrir el segmento siguiente (el diario
+     *                     queda como estaba)
+     */
+    public void reserve(List<? extends Participant> participants) throws IOException {
+        long needed = 0;
+        for (Participant participant : participants) {
+            needed += HEADER_SIZE + encodedLength(participant);
+        }
+        if (needed > buffer.remaining() && buffer.position() > 0) {
+            rotate();
+        }
+    }
+
+    /**
+     * Agrega un participante al diario (sin forzar el disco)
+     */
+    public void append(Participant participant) {
+        ByteBuffer payload = encode(participant);
+        int length = payload.remaining();
+        if (HEADER_SIZE + length > segmentSize) {
+            throw new IllegalArgumentException("Entrada de " + length + " bytes no cabe en un segmento");
+        }
+
+        if (buffer.remaining() < HEADER_SIZE + length) {
+            try {
+                rotate(); // Solo pasa si el bloque no se reservó o no entraba en un segmento
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        crc.reset();
+        crc.update(payload.duplicate());
+        buffer.putInt(length);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(payload);
+        recordCount++;
+
+        if (++pending >= groupCommitSize) {
+            sync();
+        }
+    }
+
+    /**
+     * Fuerza al disco las entradas pendientes (group commit)
+     */
+    public void sync() {
+        if (pending > 0) {
+            buffer.force();
+            pending = 0;
+        }
+    }
+
+    /**
+     * Recorre secuencialmente todos los segmentos y entrega cada participante
+     * reconstruido con su subclase original
+     */
+    public void replay(Consumer<? super Participant> consumer) throws IOException {
+        String[] fields = new String[ParticipantCodec.MAX_FIELDS];
+        for (Path segment : segments) {
+            try (FileChannel in = FileChannel.open(segment, StandardOpenOption.READ)) {
+                MappedByteBuffer mapped = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+                int position = 0;
+                int end = scan(mapped);
+                while (position < end) {
+                    int length = mapped.getInt(position);
+                    ByteBuffer payload = mapped.slice(position + HEADER_SIZE, length);
+                    consumer.accept(decode(payload, fields));
+                    position += HEADER_SIZE + length;
+                }
+            }
+        }
+    }
+
+    /**
+     * Cantidad de entradas válidas en el diario
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public void close() throws IOException {
+        sync();
+        channel.close();
+    }
+
+    // Segmentos y recuperación
+
+    /**
+     * Cierra el segmento actual (forzado al disco) y pasa al siguiente. Si el
+     * siguiente no se puede abrir, el actual sigue abierto y en uso.
+     */
+    private void rotate() throws IOException {
+        sync();
+        FileChannel previousChannel = channel;
+        MappedByteBuffer previousBuffer = buffer;
+        try {
+            openSegment(segments.size(), 0);
+        } catch (IOException e) {
+            channel = previousChannel;
+            buffer = previousBuffer;
+            throw e;
+        }
+        previousChannel.close();
+    }
+
+    private void openSegment(int index, int position) throws IOException {
+        Path path = directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+        FileChannel opened = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer mapped;
+        try {
+            mapped = opened.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        } catch (IOException e) {
+            opened.close();
+            throw e;
+        }
+        if (index == segments.size()) {
+            segments.add(path);
+        }
+        channel = opened;
+        buffer = mapped;
+        buffer.position(position);
+    }
+
+    /**
+     * Valida los segmentos existentes y deja el diario listo para seguir escribiendo
+     */
+    private void recover() throws IOException {
+        for (int i = 0; i < segments.size(); i++) {
+            int end;
+            boolean torn;
+            try (FileChannel in = FileChannel.open(segments.get(i), StandardOpenOption.READ)) {
+                MappedByteBuffer mapped = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+                end = scan(mapped);
+                torn = !isZero(mapped, end);
+                recordCount += countRecords(mapped, end);
+            }
+
+            boolean last = i == segments.size() - 1;
+            if (torn || last) {
+                // Lo que siga a una escritura interrumpida no es confiable
+                for (Path later : segments.subList(i + 1, segments.size())) {
+                    Files.delete(later);
+                }
+                segments = new ArrayList<>(segments.subList(0, i + 1));
+                openSegment(i, end);
+                if (torn) {
+                    for (int p = end; p < segmentSize; p++) {
+                        buffer.put(p, (byte) 0);
+                    }
+                    buffer.force();
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Devuelve la posición donde termina la última entrada válida
+     */
+    private int scan(ByteBuffer mapped) {
+        int limit = mapped.limit();
+        int position = 0;
+        while (position + HEADER_SIZE <= limit) {
+            int length = mapped.getInt(position);
+            if (length <= 0 || position + HEADER_SIZE + length > limit) {
+                break; // Fin del segmento o longitud corrupta
+            }
+            crc.reset();
+            crc.update(mapped.slice(position + HEADER_SIZE, length));
+            if ((int) crc.getValue() != mapped.getInt(position + 4)) {
+                break; // Escritura interrumpida
+            }
+            position += HEADER_SIZE + length;
+        }
+        return position;
+    }
+
+    private static int countRecords(ByteBuffer mapped, int end) {
+        int count = 0;
+        for (int position = 0; position < end; position += HEADER_SIZE + mapped.getInt(position)) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Verifica si después de la última entrada válida no hay restos de otra
+     */
+    private static boolean isZero(ByteBuffer mapped, int from) {
+        int to = Math.min(mapped.limit(), from + HEADER_SIZE);
+        for (int p = from; p < to; p++) {
+            if (mapped.get(p) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Codificación
+
+    /**
+     * Bytes que ocupa la entrada codificada (sin la cabecera), sin codificarla
+     */
+    private static int encodedLength(Participant participant) {
+        int length = 1; // Etiqueta
+        for (String field : ParticipantCodec.fieldsOf(participant)) {
+            length += 4 + (field == null ? 0 : utf8Length(field));
+        }
+        return length;
+    }
+
+    /**
+     * Lo mismo que field.getBytes(UTF_8).length, sin crear el arreglo
+     */
+    private static int utf8Length(String field) {
+        int bytes = field.length();
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                bytes += 1;
+            } else if (Character.isHighSurrogate(c) && i + 1 < field.length()
+                    && Character.isLowSurrogate(field.charAt(i + 1))) {
+                bytes += 2; // Par sustituto: 4 bytes para 2 chars
+                i++;
+            } else if (!Character.isSurrogate(c)) {
+                bytes += 2;
+            } // Un sustituto suelto se codifica como '?' (1 byte)
+        }
+        return bytes;
+    }
+
+    private ByteBuffer encode(Participant participant) {
+        String[] fields = ParticipantCodec.fieldsOf(participant);
+        scratch.clear();
+        ensureCapacity(1);
+        scratch.put(ParticipantCodec.tagOf(participant));
+        for (String field : fields) {
+            if (field == null) {
+                ensureCapacity(4);
+                scratch.putInt(-1);
+            } else {
+                byte[] bytes = field.getBytes(StandardCharsets.UTF_8);
+                ensureCapacity(4 + bytes.length);
+                scratch.putInt(bytes.length);
+                scratch.put(bytes);
+            }
+        }
+        return scratch.flip();
+    }
+
+    private void ensureCapacity(int extra) {
+        if (scratch.remaining() < extra) {
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(scratch.capacity() * 2, scratch.position() + extra));
+            scratch.flip();
+            bigger.put(scratch);
+            scratch = bigger;
+        }
+    }
+
+    private static Participant decode(ByteBuffer payload, String[] fields) {
+        byte tag = payload.get();
+        int count = ParticipantCodec.fieldCount(tag);
+        for (int i = 0; i < count; i++) {
+            int length = payload.getInt();
+            if (length < 0) {
+                fields[i] = null;
+            } else {
+                byte[] bytes = new byte[length];
+                payload.get(bytes);
+                fields[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+        return ParticipantCodec.create(tag, fields);
+    }
+}
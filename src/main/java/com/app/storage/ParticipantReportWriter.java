@@ -0,0 +1,120 @@
+package com.app.storage;
+
+import com.app.model.Participant;
+import com.app.payment.PaymentMethod;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * ParticipantReportWriter - Reporte de participantes en texto para volúmenes grandes
+ *
+ * Una línea por participante con getInfo() y getPaymentInfo() separados por
+ * " | ", y opcionalmente una línea por pago. Todo se arma con los métodos
+ * appendInfo/appendPaymentInfo/appendPaymentDetails sobre un único
+ * StringBuilder reutilizado, que se vuelca al destino cada FLUSH_THRESHOLD
+ * caracteres: no se crea un String por fila ni se interpreta ningún patrón
+ * de formato.
+ *
+ * No es thread-safe.
+ */
+public class ParticipantReportWriter implements Flushable {
+
+    public static final int FLUSH_THRESHOLD = 8192;
+
+    private final Appendable out;
+    private final boolean includePayments;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 512);
+    private final Consumer<PaymentMethod> paymentLine = this::appendPayment;
+    private long rows;
+
+    public ParticipantReportWriter(Appendable out) {
+        this(out, false);
+    }
+
+    /**
+     * @param includePayments si es true, cada pago se escribe en su propia línea
+     *                        debajo del participante
+     */
+    public ParticipantReportWriter(Appendable out, boolean includePayments) {
+        this.out = out;
+        this.includePayments = includePayments;
+    }
+
+    /**
+     * Escribe el reporte completo en un archivo UTF-8
+     *
+     * @return cantidad de participantes escritos
+     */
+    public static long write(Path file, Iterable<? extends Participant> participants,
+                             boolean includePayments) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            ParticipantReportWriter report = new ParticipantReportWriter(writer, includePayments);
+            long written = report.writeAll(participants);
+            report.flush();
+            return written;
+        }
+    }
+
+    public void write(Participant participant) throws IOException {
+        participant.appendInfo(buffer);
+        buffer.append(" | ");
+        participant.appendPaymentInfo(buffer);
+        buffer.append('\n');
+        if (includePayments) {
+            participant.forEachPayment(paymentLine);
+        }
+        rows++;
+        if (buffer.length() >= FLUSH_THRESHOLD) {
+            drain();
+        }
+    }
+
+    /**
+     * COVARIANZA: acepta cualquier colección de subtipos de Participant
+     *
+     * @return cantidad de participantes escritos en esta llamada
+     */
+    public long writeAll(Iterable<? extends Participant> participants) throws IOException {
+        long before = rows;
+        for (Participant participant : participants) {
+            write(participant);
+        }
+        return rows - before;
+    }
+
+    /**
+     * Vuelca lo pendiente al destino (y lo vacía, si el destino es Flushable)
+     */
+    @Override
+    public void flush() throws IOException {
+        drain();
+        if (out instanceof Flushable flushable) {
+            flushable.flush();
+        }
+    }
+
+    public long getRowCount() {
+        return rows;
+    }
+
+    private void appendPayment(PaymentMethod payment) {
+        buffer.append("    ");
+        payment.appendInfo(buffer);
+        buffer.append(" | ");
+        payment.appendPaymentDetails(buffer);
+        buffer.append('\n');
+    }
+
+    private void drain() throws IOException {
+        if (buffer.length() > 0) {
+            out.append(buffer);
+            buffer.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.app.events;
+
+import com.app.participants.Student;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AsyncFileEventSinkTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int ROUNDS = 20;
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Productores que emiten mientras otro hilo cierra el sink: cada emit()
+     * que volvió sin excepción debe quedar en el archivo
+     */
+    @Test
+    void everyAcceptedEmitIsWrittenWhenCloseRaces() throws Exception {
+        Student student = new Student("S1", "Ana", "s1@unsa.edu.pe", "UNSA", "Software");
+        for (int round = 0; round < ROUNDS; round++) {
+            Path file = directory.resolve("events-" + round + ".log");
+            AsyncFileEventSink sink = new AsyncFileEventSink(file, 64);
+            AtomicLong accepted = new AtomicLong();
+            CountDownLatch started = new CountDownLatch(PRODUCERS);
+
+            List<Thread> producers = new ArrayList<>();
+            for (int t = 0; t < PRODUCERS; t++) {
+                Thread producer = new Thread(() -> {
+                    started.countDown();
+                    try {
+                        while (true) {
+                            sink.emit(EventType.PARTICIPANT_REGISTERED, student);
+                            accepted.incrementAndGet();
+                        }
+                    } catch (IllegalStateException closed) {
+                        // El sink se cerró: este productor termina
+                    }
+                });
+                producer.start();
+                producers.add(producer);
+            }
+            started.await();
+            Thread.sleep(round % 5);
+            sink.close();
+            for (Thread producer : producers) {
+                producer.join();
+            }
+
+            assertEquals(accepted.get(), Files.readAllLines(file).size(), "Ronda " + round);
+            assertEquals(accepted.get(), sink.getWrittenCount(), "Ronda " + round);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.app.generics;
+
+import com.app.events.EventSink;
+import com.app.events.EventSinks;
+import com.app.events.NoOpEventSink;
+import com.app.model.Participant;
+import com.app.participants.Student;
+import com.app.participants.Teacher;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prueba de estrés del modo thread-safe de EventRegistry: varios hilos
+ * registran a la vez y no se debe perder ni duplicar ningún registro
+ */
+class EventRegistryConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int BATCHES_PER_THREAD = 20;
+    private static final int BATCH_SIZE = 250;
+
+    private static EventSink previousSink;
+
+    @BeforeAll
+    static void silenceEvents() {
+        previousSink = EventSinks.install(NoOpEventSink.INSTANCE);
+    }
+
+    @AfterAll
+    static void restoreEvents() {
+        EventSinks.install(previousSink);
+    }
+
+    @Test
+    void concurrentRegisterAllLosesNoRegistrations() throws Exception {
+        EventRegistry registry = new EventRegistry(true);
+
+        runConcurrently(thread -> {
+            for (int batch = 0; batch < BATCHES_PER_THREAD; batch++) {
+                List<Participant> participants = new ArrayList<>(BATCH_SIZE);
+                for (int i = 0; i < BATCH_SIZE; i++) {
+                    participants.add(participant(thread + "-" + batch + "-" + i, i));
+                }
+                // Se alternan las tres entradas de registro masivo y el registro individual
+                switch (batch % 3) {
+                    case 0 -> registry.registerAll(participants);
+                    case 1 -> registry.registerAll(participants.iterator());
+                    default -> participants.forEach(registry::addParticipant);
+                }
+            }
+        });
+
+        int expected = THREADS * BATCHES_PER_THREAD * BATCH_SIZE;
+        List<Participant> all = registry.getAllParticipants();
+        assertEquals(expected, all.size());
+
+        Set<String> ids = new HashSet<>();
+        for (Participant p : all) {
+            assertTrue(ids.add(p.getId()), "Registro duplicado: " + p.getId());
+            assertEquals(p, registry.findById(p.getId()).orElseThrow());
+            assertEquals(p, registry.findByEmail(p.getEmail()).orElseThrow());
+        }
+        int students = registry.getParticipantsByType("estudiante").size();
+        int teachers = registry.getParticipantsByType("DOCENTE").size();
+        assertEquals(expected, students + teachers);
+        assertEquals(expected, registry.getStatistics().getCount());
+    }
+
+    @Test
+    void concurrentDuplicatesAreRegisteredOnce() throws Exception {
+        EventRegistry registry = new EventRegistry(true);
+
+        // Todos los hilos registran los mismos ids: solo uno de cada uno debe quedar
+        runConcurrently(thread -> {
+            List<Participant> participants = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                participants.add(participant("shared-" + i, i));
+            }
+            registry.registerAll(participants);
+        });
+
+        assertEquals(BATCH_SIZE, registry.getAllParticipants().size());
+        assertEquals(BATCH_SIZE, registry.getStatistics().getCount());
+    }
+
+    @Test
+    void concurrentEmailConflictsKeepOneRegistrationPerEmail() throws Exception {
+        EventRegistry registry = new EventRegistry(true);
+
+        // Ids distintos en cada hilo, pero los emails se repiten entre hilos
+        runConcurrently(thread -> {
+            List<Participant> participants = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                participants.add(new Student("S" + thread + "-" + i, "Estudiante " + i,
+                        "compartido" + i + "@unsa.edu.pe", "UNSA", "Software"));
+            }
+            registry.registerAll(participants);
+        });
+
+        List<Participant> all = registry.getAllParticipants();
+        assertEquals(BATCH_SIZE, all.size());
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            Participant owner = registry.findByEmail("compartido" + i + "@unsa.edu.pe").orElseThrow();
+            assertEquals(owner, registry.findById(owner.getId()).orElseThrow());
+        }
+        assertEquals(BATCH_SIZE, registry.getParticipantsByType("Estudiante").size());
+        assertEquals(BATCH_SIZE, registry.getStatistics().getCount());
+    }
+
+    private static Participant participant(String key, int i) {
+        String email = key + "@unsa.edu.pe";
+        return i % 4 == 0
+                ? new Teacher("T" + key, "Docente " + key, email, "UNSA", "Software")
+                : new Student("S" + key, "Estudiante " + key, email, "UNSA", "Software");
+    }
+
+    private interface Producer {
+        void run(int thread) throws Exception;
+    }
+
+    /**
+     * Arranca todos los productores a la vez y espera a que terminen
+     */
+    private static void runConcurrently(Producer producer) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    producer.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
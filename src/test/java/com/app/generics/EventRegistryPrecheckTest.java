@@ -0,0 +1,131 @@
+package com.app.generics;
+
+import com.app.events.EventSink;
+import com.app.events.EventSinks;
+import com.app.events.NoOpEventSink;
+import com.app.model.Participant;
+import com.app.participants.Student;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * El filtro previo de duplicados solo ahorra consultas: los resultados deben
+ * ser los mismos que sin él y sus contadores deben cuadrar con un filtro igual
+ * alimentado con los mismos valores
+ */
+class EventRegistryPrecheckTest {
+
+    private static final int PARTICIPANTS = 600;
+    private static final int DUPLICATES = 2 * PARTICIPANTS / 10;
+    // Etapa inicial chica y tasa alta: el filtro crece y da falsos positivos
+    private static final int EXPECTED_INSERTIONS = 64;
+    private static final double FALSE_POSITIVE_RATE = 0.2;
+
+    private static EventSink previousSink;
+
+    @BeforeAll
+    static void silenceEvents() {
+        previousSink = EventSinks.install(NoOpEventSink.INSTANCE);
+    }
+
+    @AfterAll
+    static void restoreEvents() {
+        EventSinks.install(previousSink);
+    }
+
+    @Test
+    void precheckDoesNotChangeWhatIsAcceptedOrRejected() {
+        for (EventRegistry.DuplicatePolicy policy : List.of(EventRegistry.DuplicatePolicy.REJECT,
+                EventRegistry.DuplicatePolicy.REPLACE)) {
+            EventRegistry plain = new EventRegistry();
+            EventRegistry filtered = new EventRegistry();
+            plain.setDuplicatePolicy(policy);
+            filtered.setDuplicatePolicy(policy);
+            filtered.enableDuplicatePrecheck(EXPECTED_INSERTIONS, FALSE_POSITIVE_RATE);
+
+            List<Participant> input = input();
+            assertEquals(register(plain, input), register(filtered, input), policy.name());
+            assertEquals(EventRegistryTest.ids(plain.getAllParticipants()),
+                    EventRegistryTest.ids(filtered.getAllParticipants()), policy.name());
+            for (Participant p : plain.getAllParticipants()) {
+                assertEquals(p, filtered.findByEmail(p.getEmail()).orElseThrow());
+            }
+        }
+    }
+
+    @Test
+    void statsCountDefiniteNewProbableAndFalsePositives() {
+        EventRegistry registry = new EventRegistry();
+        registry.enableDuplicatePrecheck(EXPECTED_INSERTIONS, FALSE_POSITIVE_RATE);
+        List<Participant> input = input();
+        List<Boolean> accepted = register(registry, input);
+
+        // Mismo filtro, mismos valores y en el mismo orden que el registro
+        ScalableBloomFilter model = new ScalableBloomFilter(EXPECTED_INSERTIONS, FALSE_POSITIVE_RATE);
+        long definiteNew = 0;
+        long falsePositives = 0;
+        long duplicates = 0;
+        for (int i = 0; i < input.size(); i++) {
+            Participant p = input.get(i);
+            String email = p.getEmail().trim().toLowerCase(Locale.ROOT);
+            if (!model.mightContain(p.getId()) && !model.mightContain(email)) {
+                definiteNew++;
+            } else if (accepted.get(i)) {
+                falsePositives++;
+            } else {
+                duplicates++;
+            }
+            if (accepted.get(i)) {
+                model.put(p.getId());
+                model.put(email);
+            }
+        }
+
+        EventRegistry.PrecheckStats stats = registry.getDuplicatePrecheckStats().orElseThrow();
+        assertEquals(DUPLICATES, duplicates);
+        assertTrue(falsePositives > 0, "La entrada no produjo falsos positivos");
+        assertEquals(PARTICIPANTS, stats.checks());
+        assertEquals(definiteNew, stats.skippedProbes());
+        assertEquals(falsePositives + duplicates, stats.probable());
+        assertEquals(falsePositives, stats.falsePositives());
+        assertEquals((double) falsePositives / (definiteNew + falsePositives), stats.observedFalsePositiveRate());
+        assertEquals(PARTICIPANTS - DUPLICATES, registry.getAllParticipants().size());
+    }
+
+    /**
+     * Participantes nuevos con duplicados intercalados: uno de cada diez repite
+     * el id de otro y otro repite su email con otras mayúsculas y espacios
+     */
+    private static List<Participant> input() {
+        List<Participant> input = new ArrayList<>(PARTICIPANTS);
+        for (int i = 0; i < PARTICIPANTS; i++) {
+            if (i % 10 == 5) {
+                input.add(new Student("S" + (i - 5), "Mismo id " + i, "otro" + i + "@unsa.edu.pe",
+                        "UNSA", "Software"));
+            } else if (i % 10 == 7) {
+                input.add(new Student("X" + i, "Mismo email " + i, " S" + (i - 7) + "@UNSA.edu.pe ",
+                        "UNSA", "Software"));
+            } else {
+                input.add(new Student("S" + i, "Estudiante " + i, "s" + i + "@unsa.edu.pe",
+                        "UNSA", "Software"));
+            }
+        }
+        return input;
+    }
+
+    private static List<Boolean> register(EventRegistry registry, List<Participant> input) {
+        List<Boolean> accepted = new ArrayList<>(input.size());
+        for (Participant p : input) {
+            accepted.add(registry.addParticipant(p));
+        }
+        return accepted;
+    }
+}
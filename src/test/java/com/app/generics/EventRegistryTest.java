@@ -0,0 +1,151 @@
+package com.app.generics;
+
+import com.app.events.EventSink;
+import com.app.events.EventSinks;
+import com.app.events.NoOpEventSink;
+import com.app.model.Participant;
+import com.app.participants.Student;
+import com.app.participants.Teacher;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class EventRegistryTest {
+
+    private static EventSink previousSink;
+
+    private EventRegistry registry;
+
+    @BeforeAll
+    static void silenceEvents() {
+        previousSink = EventSinks.install(NoOpEventSink.INSTANCE);
+    }
+
+    @AfterAll
+    static void restoreEvents() {
+        EventSinks.install(previousSink);
+    }
+
+    @BeforeEach
+    void setUp() {
+        registry = new EventRegistry();
+        for (int i = 0; i < 6; i++) {
+            registry.addParticipant(student(i, "Estudiante " + i, "Software"));
+        }
+    }
+
+    @Test
+    void replaceKeepsTheSlotInEveryBucket() {
+        Index<String, Student> byCareer = registry.createIndex(Student.class, Student::getCareer);
+        registry.setDuplicatePolicy(EventRegistry.DuplicatePolicy.REPLACE);
+
+        Student replacement = student(2, "Reemplazo", "Software");
+        registry.addParticipant(replacement);
+
+        assertSame(replacement, registry.getAllParticipants().get(2));
+        assertSame(replacement, registry.getParticipantsByType("Estudiante").get(2));
+        assertSame(replacement, byCareer.get("Software").get(2));
+        assertEquals(6, registry.getParticipantsByType("Estudiante").size());
+        assertEquals(6, byCareer.get("Software").size());
+        assertEquals(6, registry.getStatistics().getCount());
+    }
+
+    @Test
+    void replaceWithAnotherTypeMovesBetweenBucketsInRegistrationOrder() {
+        Index<String, Student> byCareer = registry.createIndex(Student.class, Student::getCareer);
+        registry.addParticipant(new Teacher("T6", "Docente 6", "t6@unsa.edu.pe", "UNSA", "Software"));
+        registry.setDuplicatePolicy(EventRegistry.DuplicatePolicy.REPLACE);
+
+        Teacher teacher = new Teacher("S1", "Ahora docente", "s1@unsa.edu.pe", "UNSA", "Software");
+        registry.addParticipant(teacher);
+        registry.addParticipant(student(3, "Cambia de carrera", "Sistemas"));
+
+        assertEquals(List.of("S0", "S2", "S3", "S4", "S5"), ids(registry.getParticipantsByType("Estudiante")));
+        // El reemplazo queda antes de T6 porque se registró antes
+        assertEquals(List.of("S1", "T6"), ids(registry.getParticipantsByType("Docente")));
+        assertEquals(List.of("S0", "S2", "S4", "S5"), ids(byCareer.get("Software")));
+        assertEquals(List.of("S3"), ids(byCareer.get("Sistemas")));
+    }
+
+    @Test
+    void typePagesSurviveAReplaceInTheSameType() {
+        Page<Participant> first = registry.getParticipantsByType("Estudiante", 0, 3);
+        registry.setDuplicatePolicy(EventRegistry.DuplicatePolicy.REPLACE);
+        registry.addParticipant(student(1, "Reemplazo", "Software"));
+
+        Page<Participant> second = registry.getParticipantsByType("Estudiante", first.nextCursor(), 3);
+
+        assertEquals(List.of("S0", "S1", "S2"), ids(first.items()));
+        assertEquals(List.of("S3", "S4", "S5"), ids(second.items()));
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void typePagesSurviveAReplaceWithAnotherType() {
+        Page<Participant> first = registry.getParticipantsByType("Estudiante", 0, 3);
+        registry.setDuplicatePolicy(EventRegistry.DuplicatePolicy.REPLACE);
+        registry.addParticipant(new Teacher("S1", "Ahora docente", "s1@unsa.edu.pe", "UNSA", "Software"));
+
+        Page<Participant> second = registry.getParticipantsByType("Estudiante", first.nextCursor(), 2);
+        Page<Participant> third = registry.getParticipantsByType("Estudiante", second.nextCursor(), 2);
+
+        assertEquals(List.of("S3", "S4"), ids(second.items()));
+        assertEquals(List.of("S5"), ids(third.items()));
+        assertFalse(third.hasNext());
+    }
+
+    @Test
+    void onlyRegisteredParticipantsAreAnnounced() {
+        List<String> announced = new ArrayList<>();
+        EventSink previous = EventSinks.install((type, participant) -> announced.add(participant.getId()));
+        try {
+            registry.registerAll(List.of(student(0, "Repetido", "Software"), student(7, "Nuevo", "Software")));
+            registry.setDuplicatePolicy(EventRegistry.DuplicatePolicy.REPLACE);
+            registry.registerAll(List.of(student(1, "Reemplazo", "Software")));
+        } finally {
+            EventSinks.install(previous);
+        }
+
+        // S0 se rechazó (REJECT): no se anuncia; el reemplazo de S1 sí
+        assertEquals(List.of("S7", "S1"), announced);
+    }
+
+    @Test
+    void replaceDoesNotTakeTheEmailOfAnotherRecord() {
+        registry.setDuplicatePolicy(EventRegistry.DuplicatePolicy.REPLACE);
+        Student conflicting = new Student("S1", "Conflicto", "s2@unsa.edu.pe", "UNSA", "Software");
+
+        assertFalse(registry.addParticipant(conflicting));
+
+        assertEquals("Estudiante 1", registry.findById("S1").orElseThrow().getName());
+        assertEquals("S2", registry.findByEmail("s2@unsa.edu.pe").orElseThrow().getId());
+        assertEquals("S1", registry.findByEmail("s1@unsa.edu.pe").orElseThrow().getId());
+        assertEquals(6, registry.getStatistics().getCount());
+    }
+
+    @Test
+    void participantsWithoutIdAreOnlyEqualToThemselves() {
+        Student first = new Student(null, "Sin id", "a@unsa.edu.pe", "UNSA", "Software");
+        Student second = new Student(null, "Sin id", "b@unsa.edu.pe", "UNSA", "Software");
+
+        assertEquals(first, first);
+        assertNotEquals(first, second);
+    }
+
+    static Student student(int i, String name, String career) {
+        return new Student("S" + i, name, "s" + i + "@unsa.edu.pe", "UNSA", career);
+    }
+
+    static List<String> ids(List<? extends Participant> participants) {
+        return participants.stream().map(Participant::getId).toList();
+    }
+}
@@ -0,0 +1,105 @@
+package com.app.generics;
+
+import com.app.events.EventSink;
+import com.app.events.EventSinks;
+import com.app.events.NoOpEventSink;
+import com.app.model.Participant;
+import com.app.participants.Student;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Consultas por rango de un índice ordenado
+ */
+class IndexTest {
+
+    private static EventSink previousSink;
+
+    private EventRegistry registry;
+    private Index<String, Student> byCareer;
+
+    @BeforeAll
+    static void silenceEvents() {
+        previousSink = EventSinks.install(NoOpEventSink.INSTANCE);
+    }
+
+    @AfterAll
+    static void restoreEvents() {
+        EventSinks.install(previousSink);
+    }
+
+    @BeforeEach
+    void setUp() {
+        registry = new EventRegistry();
+        byCareer = registry.createSortedIndex(Student.class, Student::getCareer, Comparator.naturalOrder());
+        // Carreras B, D, A, C, B, D, A, C: dos estudiantes por clave
+        String[] careers = {"B", "D", "A", "C"};
+        for (int i = 0; i < 8; i++) {
+            registry.addParticipant(student(i, careers[i % careers.length]));
+        }
+    }
+
+    @Test
+    void rangeIncludesTheLowerBoundAndExcludesTheUpper() {
+        // Por clave y, dentro de cada clave, en orden de registro
+        assertEquals(List.of("S0", "S4", "S3", "S7"), ids(byCareer.range("B", "D")));
+        assertEquals(List.of("S2", "S6", "S0", "S4", "S3", "S7", "S1", "S5"), ids(byCareer.range("A", "E")));
+        assertEquals(List.of("S1", "S5"), ids(byCareer.range("D", "Z")));
+    }
+
+    @Test
+    void emptyRanges() {
+        assertTrue(byCareer.range("C", "C").isEmpty());
+        assertTrue(byCareer.range("E", "Z").isEmpty());
+        assertTrue(byCareer.range("Ba", "Bz").isEmpty());
+    }
+
+    @Test
+    void rangeIsAReadOnlyViewWithIndexedAccess() {
+        List<? extends Student> range = byCareer.range("A", "D");
+        List<String> byIndex = new ArrayList<>();
+        for (int i = 0; i < range.size(); i++) {
+            byIndex.add(range.get(i).getId());
+        }
+        assertEquals(ids(range), byIndex);
+        assertThrows(IndexOutOfBoundsException.class, () -> range.get(range.size()));
+        assertThrows(UnsupportedOperationException.class, () -> range.remove(0));
+
+        // Es una foto: los registros posteriores no la cambian
+        registry.addParticipant(student(8, "B"));
+        assertEquals(6, range.size());
+        assertEquals(7, byCareer.range("A", "D").size());
+    }
+
+    @Test
+    void replacedKeyLeavesItsOldRange() {
+        registry.setDuplicatePolicy(EventRegistry.DuplicatePolicy.REPLACE);
+        registry.addParticipant(student(3, "Z"));
+
+        assertEquals(List.of("S7"), ids(byCareer.range("C", "D")));
+        assertEquals(List.of("S0", "S4", "S7"), ids(byCareer.range("B", "D")));
+        assertEquals(List.of("S3"), ids(byCareer.range("Z", "ZZ")));
+    }
+
+    private static Student student(int i, String career) {
+        return new Student("S" + i, "Estudiante " + i, "s" + i + "@unsa.edu.pe", "UNSA", career);
+    }
+
+    private static List<String> ids(List<? extends Participant> participants) {
+        List<String> ids = new ArrayList<>();
+        for (Participant p : participants) {
+            ids.add(p.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,81 @@
+package com.app.generics;
+
+import com.app.model.Participant;
+import com.app.participants.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.app.generics.EventRegistryTest.ids;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NameSearchIndexTest {
+
+    private NameSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new NameSearchIndex();
+        index.add(student("S1", "Ana García Ruiz", "ana.garcia17@unsa.edu.pe"));
+        index.add(student("S2", "Lucía Torres Mamani", "lucia.torres1234@unsa.edu.pe"));
+        index.add(student("S3", "Jorge Mamani Quispe", "jorge.mamani9@unsa.edu.pe"));
+        index.add(student("S4", "Anabel Quispe", "anabel.quispe12345@unsa.edu.pe"));
+    }
+
+    @Test
+    void matchesIgnoringAccentsAndCase() {
+        assertEquals(List.of("S1"), ids(index.search("ANA garcia", 5)));
+        assertEquals(List.of("S2"), ids(index.search("lucia torres", 5)));
+    }
+
+    @Test
+    void exactMatchesRankAbovePrefixMatches() {
+        assertEquals(List.of("S1", "S4"), ids(index.search("ana", 5)));
+    }
+
+    @Test
+    void toleratesTypos() {
+        assertEquals(List.of("S3"), ids(index.search("jorje mamni", 5)));
+    }
+
+    @Test
+    void findsByEmailAndItsParts() {
+        assertEquals(List.of("S2"), ids(index.search("lucia.torres1234@unsa.edu.pe", 5)));
+        assertEquals(List.of("S2"), ids(index.search("torres1234", 5)));
+        // Los números coinciden por prefijo pero no con errores de tipeo
+        assertEquals(List.of("S4"), ids(index.search("quispe1234", 5)));
+        assertEquals(List.of(), ids(index.search("torres1243", 5)));
+    }
+
+    @Test
+    void removedParticipantsAreNotReturned() {
+        index.remove("S1");
+        assertEquals(List.of("S4"), ids(index.search("ana", 5)));
+    }
+
+    @Test
+    void removalsAreCompactedAwayWithTheWordsOnlyTheyUsed() {
+        NameSearchIndex large = new NameSearchIndex();
+        int total = 4 * NameSearchIndex.MIN_TOMBSTONES_TO_COMPACT;
+        for (int i = 0; i < total; i++) {
+            large.add(student("U" + i, "Persona Quispe", "u" + i + "@unsa.edu.pe"));
+        }
+        int vocabulary = large.vocabularySize();
+
+        // Cada participante tiene su propio número de email: al compactar se van con él
+        for (int i = 0; i < total / 2; i++) {
+            large.remove("U" + i);
+        }
+
+        assertEquals(0, large.tombstoneCount());
+        assertEquals(vocabulary - total / 2, large.vocabularySize());
+        assertEquals(List.of(), ids(large.search("17", 5)));
+        assertEquals(List.of("U3000"), ids(large.search("3000", 5)));
+        assertEquals(5, large.search("persona quispe", 5).size());
+    }
+
+    private static Participant student(String id, String name, String email) {
+        return new Student(id, name, email, "UNSA", "Software");
+    }
+}
@@ -0,0 +1,102 @@
+package com.app.generics;
+
+import com.app.events.EventSink;
+import com.app.events.EventSinks;
+import com.app.events.NoOpEventSink;
+import com.app.model.Participant;
+import com.app.participants.Student;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParticipantManagerTest {
+
+    private static final int STUDENTS = 2 * EventRegistry.STREAM_CHUNK_SIZE + 500;
+
+    private static EventSink previousSink;
+
+    @BeforeAll
+    static void silenceEvents() {
+        previousSink = EventSinks.install(NoOpEventSink.INSTANCE);
+    }
+
+    @AfterAll
+    static void restoreEvents() {
+        EventSinks.install(previousSink);
+    }
+
+    @Test
+    void publisherDemandNeverExceedsOneChunk() throws Exception {
+        CountingPublisher publisher = new CountingPublisher(STUDENTS);
+        List<Participant> destination = new ArrayList<>();
+
+        int transferred = new ParticipantManager().addStudents(destination, publisher).get(10, TimeUnit.SECONDS);
+
+        assertEquals(STUDENTS, transferred);
+        assertEquals(STUDENTS, destination.size());
+        for (int i = 0; i < STUDENTS; i++) {
+            assertEquals("S" + i, destination.get(i).getId());
+        }
+        assertTrue(publisher.maxOutstanding <= EventRegistry.STREAM_CHUNK_SIZE,
+                "Demanda pendiente máxima: " + publisher.maxOutstanding);
+    }
+
+    /**
+     * Publicador síncrono que emite solo lo pedido y recuerda la mayor demanda
+     * pendiente que llegó a tener
+     */
+    private static final class CountingPublisher implements Flow.Publisher<Student> {
+        private final int total;
+        private long demand;
+        private long maxOutstanding;
+        private int sent;
+        private boolean draining;
+
+        CountingPublisher(int total) {
+            this.total = total;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super Student> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    demand += n;
+                    maxOutstanding = Math.max(maxOutstanding, demand);
+                    drain(subscriber);
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+        }
+
+        private void drain(Flow.Subscriber<? super Student> subscriber) {
+            // Un request dentro de onNext solo suma demanda: el bucle de afuera la atiende
+            if (draining) {
+                return;
+            }
+            draining = true;
+            while (demand > 0 && sent < total) {
+                demand--;
+                subscriber.onNext(new Student("S" + sent, "Estudiante " + sent,
+                        "s" + sent + "@unsa.edu.pe", "UNSA", "Software"));
+                sent++;
+            }
+            draining = false;
+            if (sent == total) {
+                sent++; // onComplete una sola vez
+                subscriber.onComplete();
+            }
+        }
+    }
+}
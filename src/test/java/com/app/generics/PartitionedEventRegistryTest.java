@@ -0,0 +1,256 @@
+package com.app.generics;
+
+import com.app.events.EventSink;
+import com.app.events.EventSinks;
+import com.app.events.NoOpEventSink;
+import com.app.model.Participant;
+import com.app.participants.Student;
+import com.app.participants.Teacher;
+import com.app.payment.CashPayment;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PartitionedEventRegistryTest {
+
+    private static final int SHARDS = 4;
+
+    private static EventSink previousSink;
+
+    @BeforeAll
+    static void silenceEvents() {
+        previousSink = EventSinks.install(NoOpEventSink.INSTANCE);
+    }
+
+    @AfterAll
+    static void restoreEvents() {
+        EventSinks.install(previousSink);
+    }
+
+    @Test
+    void sameEmailUnderAnotherIdIsADuplicateInEveryShard() {
+        PartitionedEventRegistry registry = new PartitionedEventRegistry(SHARDS);
+        List<Participant> batch = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            batch.add(student("S" + i, "ana@unsa.edu.pe"));
+        }
+        registry.registerAll(batch);
+        registry.addParticipant(student("OTRO", "ANA@unsa.edu.pe "));
+
+        assertEquals(1, registry.size());
+        assertEquals("S0", registry.findByEmail("ana@unsa.edu.pe").orElseThrow().getId());
+    }
+
+    @Test
+    void replaceByEmailAcrossShardsKeepsTheNewIdReachable() {
+        PartitionedEventRegistry registry = new PartitionedEventRegistry(SHARDS);
+        registry.addParticipant(student("S0", "ana@unsa.edu.pe"));
+        registry.setDuplicatePolicy(EventRegistry.DuplicatePolicy.REPLACE);
+        for (int i = 1; i <= 20; i++) {
+            registry.addParticipant(student("S" + i, "ana@unsa.edu.pe"));
+        }
+
+        assertEquals(1, registry.size());
+        assertEquals("S20", registry.findById("S20").orElseThrow().getId());
+        assertFalse(registry.findById("S0").isPresent());
+        assertEquals("S20", registry.findByEmail("ana@unsa.edu.pe").orElseThrow().getId());
+    }
+
+    @Test
+    void paymentTotalsComeFromTheShardStatistics() {
+        PartitionedEventRegistry registry = new PartitionedEventRegistry(SHARDS);
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            students.add(student("S" + i, "s" + i + "@unsa.edu.pe"));
+        }
+        registry.registerAll(students);
+        for (int i = 0; i < 3; i++) {
+            students.get(i).addPayment(new CashPayment(50.0, "Caja", "Tesorería", "R-" + i, "PEN"));
+        }
+        students.get(3).addPayment(new CashPayment(20.0, "Caja", "Tesorería", "R-3", "PEN"));
+
+        assertEquals(3, registry.countFullyPaid());
+        assertEquals(17_000, registry.getTotalPaidCents());
+        assertTrue(registry.getTotalPaid() > 169.99);
+    }
+
+    @Test
+    void rejectedRegistrationsLeaveNoClaims() {
+        PartitionedEventRegistry registry = new PartitionedEventRegistry(SHARDS);
+        List<Participant> batch = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            batch.add(student("S" + i, "ana@unsa.edu.pe"));
+        }
+        registry.registerAll(batch);
+        // Id repetido con un email nuevo: se rechaza y su email no queda reservado
+        registry.addParticipant(student("S0", "beto@unsa.edu.pe"));
+
+        assertEquals(1, registry.size());
+        assertEquals(1, registry.claimedEmailCount());
+        assertEquals(0, registry.movedIdCount());
+        assertTrue(registry.addParticipant(student("S7", "beto@unsa.edu.pe")));
+        assertEquals("S7", registry.findByEmail("beto@unsa.edu.pe").orElseThrow().getId());
+    }
+
+    @Test
+    void replaceThatChangesTheEmailReleasesTheOldOne() {
+        PartitionedEventRegistry registry = new PartitionedEventRegistry(SHARDS);
+        registry.setDuplicatePolicy(EventRegistry.DuplicatePolicy.REPLACE);
+        registry.addParticipant(student("S0", "ana@unsa.edu.pe"));
+        registry.addParticipant(student("S0", "ana.garcia@unsa.edu.pe"));
+
+        assertEquals(1, registry.size());
+        assertEquals(1, registry.claimedEmailCount());
+        assertFalse(registry.findByEmail("ana@unsa.edu.pe").isPresent());
+        // El email viejo quedó libre para otro registro
+        assertTrue(registry.addParticipant(student("S9", "ana@unsa.edu.pe")));
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    void replaceDoesNotTakeTheEmailOfARecordInAnyShard() {
+        PartitionedEventRegistry registry = new PartitionedEventRegistry(SHARDS);
+        for (int i = 0; i < 20; i++) {
+            registry.addParticipant(student("S" + i, "s" + i + "@unsa.edu.pe"));
+        }
+        registry.setDuplicatePolicy(EventRegistry.DuplicatePolicy.REPLACE);
+        for (int i = 0; i < 19; i++) {
+            registry.addParticipant(student("S" + i, "s" + (i + 1) + "@unsa.edu.pe"));
+        }
+
+        assertEquals(20, registry.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals("S" + i, registry.findByEmail("s" + i + "@unsa.edu.pe").orElseThrow().getId());
+        }
+        assertEquals(20, registry.claimedEmailCount());
+    }
+
+    @Test
+    void pagesWalkEveryShardOnce() {
+        PartitionedEventRegistry registry = new PartitionedEventRegistry(SHARDS);
+        List<Participant> batch = new ArrayList<>();
+        for (int i = 0; i < 103; i++) {
+            batch.add(i % 3 == 0
+                    ? new Teacher("T" + i, "Docente " + i, "t" + i + "@unsa.edu.pe", "UNSA", "Software")
+                    : student("S" + i, "s" + i + "@unsa.edu.pe"));
+        }
+        registry.registerAll(batch);
+
+        List<String> paged = new ArrayList<>();
+        Page<Participant> page = registry.getParticipants(0, 10);
+        paged.addAll(EventRegistryTest.ids(page.items()));
+        while (page.hasNext()) {
+            assertEquals(10, page.items().size());
+            page = registry.getParticipants(page.nextCursor(), 10);
+            paged.addAll(EventRegistryTest.ids(page.items()));
+        }
+        assertEquals(EventRegistryTest.ids(registry.getAllParticipants()), paged);
+
+        List<String> teachers = new ArrayList<>();
+        for (Page<Participant> p = registry.getParticipantsByType("docente", 0, 7); ;
+             p = registry.getParticipantsByType("docente", p.nextCursor(), 7)) {
+            teachers.addAll(EventRegistryTest.ids(p.items()));
+            if (!p.hasNext()) {
+                break;
+            }
+        }
+        assertEquals(EventRegistryTest.ids(registry.getParticipantsByType("Docente")), teachers);
+        assertEquals(Map.of("Docente", 35, "Estudiante", 68), registry.countsByType());
+        assertEquals(103, registry.getStatistics().getCount());
+        assertEquals(35, registry.getStatistics().getCount("DOCENTE"));
+    }
+
+    @Test
+    void searchAndIndexesCombineTheShards() {
+        PartitionedEventRegistry registry = new PartitionedEventRegistry(SHARDS);
+        PartitionedIndex<String, Student> byCareer =
+                registry.createSortedIndex(Student.class, Student::getCareer, Comparator.naturalOrder());
+        String[] careers = {"Sistemas", "Civil", "Software", "Minas"};
+        List<Participant> batch = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            String name = i % 10 == 0 ? "Ana Quispe " + i : "Anabel Mamani " + i;
+            batch.add(new Student("S" + i, name, "s" + i + "@unsa.edu.pe", "UNSA", careers[i % 4]));
+        }
+        registry.registerAll(batch);
+
+        // Las cuatro coincidencias exactas de "ana" van antes que cualquier "anabel"
+        List<Participant> found = registry.searchByName("ana", 6);
+        assertEquals(6, found.size());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(found.get(i).getName().startsWith("Ana Quispe"), found.get(i).getName());
+        }
+
+        List<String> keys = new ArrayList<>();
+        for (Student s : byCareer.range("Civil", "Sistemas")) {
+            keys.add(s.getCareer());
+        }
+        assertEquals(20, keys.size());
+        assertEquals(keys.stream().sorted().toList(), keys);
+        assertEquals(10, byCareer.get("Software").size());
+        assertEquals(List.of("Civil", "Minas", "Sistemas", "Software"), new ArrayList<>(byCareer.keys()));
+    }
+
+    @Test
+    void publisherOverloadRegistersEveryChunk() throws Exception {
+        PartitionedEventRegistry registry = new PartitionedEventRegistry(SHARDS);
+        int total = 2 * EventRegistry.STREAM_CHUNK_SIZE + 17;
+        List<Participant> source = new ArrayList<>();
+        for (int i = 0; i < total; i++) {
+            source.add(student("S" + i, "s" + i + "@unsa.edu.pe"));
+        }
+        source.add(student("S0", "s0@unsa.edu.pe")); // Duplicado
+
+        int added = registry.registerAll(listPublisher(source)).get(10, TimeUnit.SECONDS);
+
+        assertEquals(total, added);
+        assertEquals(total, registry.size());
+    }
+
+    /**
+     * Publicador síncrono que entrega solo lo pedido
+     */
+    private static Flow.Publisher<Participant> listPublisher(List<Participant> items) {
+        return subscriber -> subscriber.onSubscribe(new Flow.Subscription() {
+            private long demand;
+            private int next;
+            private boolean draining;
+
+            @Override
+            public void request(long n) {
+                demand += n;
+                if (draining) {
+                    return; // El bucle de afuera atiende la demanda nueva
+                }
+                draining = true;
+                while (demand > 0 && next < items.size()) {
+                    demand--;
+                    subscriber.onNext(items.get(next++));
+                }
+                draining = false;
+                if (next == items.size()) {
+                    next++;
+                    subscriber.onComplete();
+                }
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+    }
+
+    private static Student student(String id, String email) {
+        return new Student(id, "Estudiante " + id, email, "UNSA", "Software");
+    }
+}
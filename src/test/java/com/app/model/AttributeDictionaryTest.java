@@ -0,0 +1,90 @@
+package com.app.model;
+
+import com.app.participants.Student;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AttributeDictionaryTest {
+
+    private static final int PARTICIPANTS = 1_000_000;
+
+    @Test
+    void internStopsRegisteringAtCapacity() {
+        AttributeDictionary dictionary = new AttributeDictionary(4);
+        String unsa = dictionary.intern("unsa");
+        dictionary.intern("Perú"); // Ocupa dos lugares: "Perú" y "perú"
+        assertEquals(3, dictionary.size());
+
+        // Lleno: un valor nuevo vuelve tal cual y no se registra
+        String copy = new String("Arequipa".toCharArray());
+        assertSame(copy, dictionary.intern(copy));
+        assertEquals(3, dictionary.size());
+        // Los valores ya registrados siguen siendo canónicos
+        assertSame(unsa, dictionary.intern(new String("unsa".toCharArray())));
+        // Los códigos de tipo se registran siempre
+        assertEquals(dictionary.foldedCode("docente"), dictionary.foldedCode("DOCENTE"));
+        assertEquals(5, dictionary.size());
+    }
+
+    /**
+     * Reporte de huella: 1M estudiantes creados con copias propias de la
+     * universidad y la carrera. Con el diccionario todos guardan la misma
+     * instancia; lo que costaría no internar se mide reteniendo una copia de
+     * cada valor por participante, con el heap usado después de un GC.
+     */
+    @Test
+    void internedValuesFootprintOverOneMillionParticipants() {
+        List<Student> students = new ArrayList<>(PARTICIPANTS);
+        for (int i = 0; i < PARTICIPANTS; i++) {
+            students.add(new Student("S" + i, "Estudiante " + i, "s" + i + "@unsa.edu.pe",
+                    copy("UNSA"), copy("Ingeniería de Software")));
+        }
+        Set<String> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Student s : students) {
+            instances.add(s.getUniversity());
+            instances.add(s.getCareer());
+        }
+        assertEquals(2, instances.size());
+
+        String[] copies = new String[2 * PARTICIPANTS];
+        long interned = usedHeapAfterGc();
+        for (int i = 0; i < PARTICIPANTS; i++) {
+            copies[2 * i] = copy(students.get(i).getUniversity());
+            copies[2 * i + 1] = copy(students.get(i).getCareer());
+        }
+        long notInterned = usedHeapAfterGc();
+        long perParticipant = (notInterned - interned) / PARTICIPANTS;
+
+        System.out.printf("Universidad y carrera en %,d participantes: internadas, %d instancias"
+                        + " compartidas; sin internar, %,d bytes más (%d por participante)%n",
+                PARTICIPANTS, instances.size(), notInterned - interned, perParticipant);
+        // "UNSA" (Latin-1) y la carrera (UTF-16 por la í) ocupan al menos 48 + 64 bytes
+        assertTrue(perParticipant >= 100, "Bytes por participante sin internar: " + perParticipant);
+        Reference.reachabilityFence(students);
+        Reference.reachabilityFence(copies);
+    }
+
+    private static String copy(String value) {
+        return new String(value.toCharArray());
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+}
@@ -0,0 +1,191 @@
+package com.app.model;
+
+import com.app.participants.Guest;
+import com.app.participants.Student;
+import com.app.payment.CashPayment;
+import com.app.payment.PaymentMethod;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Huella de memoria del contenedor de pagos: vacío compartido, un pago en
+ * línea y una lista solo a partir del segundo. Se comprueba con las
+ * asignaciones al leer y con el heap retenido por participante.
+ */
+class ParticipantFootprintTest {
+
+    private static final int PARTICIPANTS = 10_000;
+    private static final int RETAINED_PARTICIPANTS = 200_000;
+
+    @Test
+    void participantsWithoutPaymentsShareOneEmptyList() {
+        Guest first = guest(0);
+        Guest second = guest(1);
+
+        assertEquals(0, first.getPaymentCount());
+        assertTrue(first.getPaymentMethods().isEmpty());
+        // Ningún participante sin pagos tiene una lista propia
+        assertSame(first.getPaymentMethods(), second.getPaymentMethods());
+        assertSame(first.getPaymentMethods(), first.getPaymentMethods());
+    }
+
+    @Test
+    void holderGrowsFromInlineToListKeepingEveryPayment() {
+        Student student = new Student("S1", "Ana", "s1@unsa.edu.pe", "UNSA", "Software");
+        List<PaymentMethod> added = new ArrayList<>();
+        List<List<PaymentMethod>> seen = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            PaymentMethod payment = new CashPayment(10.0, "Ana", "Caja", "R-" + i, "PEN");
+            student.addPayment(payment);
+            added.add(payment);
+            seen.add(student.getPaymentMethods());
+
+            assertEquals(i + 1, student.getPaymentCount());
+            assertEquals(added, student.getPaymentMethods());
+            List<PaymentMethod> visited = new ArrayList<>();
+            student.forEachPayment(visited::add);
+            assertEquals(added, visited);
+        }
+        // Las listas entregadas antes no cambian al crecer el contenedor
+        for (int i = 0; i < seen.size(); i++) {
+            assertEquals(added.subList(0, i + 1), seen.get(i));
+        }
+        assertEquals(5_000, student.getTotalPaidCents());
+        assertTrue(student.hasFullyPaid());
+    }
+
+    /**
+     * Consultar los pagos de participantes sin pagos o con uno solo no debe
+     * crear listas: el límite admite el ruido de la medición, pero no una lista
+     * por participante (al menos 16 bytes cada una)
+     */
+    @Test
+    void readingEmptyAndSingleHoldersAllocatesNoLists() {
+        com.sun.management.ThreadMXBean threads = threadBean();
+        List<Participant> participants = new ArrayList<>(PARTICIPANTS);
+        for (int i = 0; i < PARTICIPANTS; i++) {
+            Participant p = i % 2 == 0 ? guest(i) : student(i);
+            if (i % 2 == 1) {
+                p.addPayment(new CashPayment(50.0, p.getName(), "Caja", "R-" + i, "PEN"));
+            }
+            participants.add(p);
+        }
+        long[] visited = new long[1];
+        Consumer<PaymentMethod> counter = payment -> visited[0]++;
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        long payments = 0;
+        for (Participant p : participants) {
+            payments += p.getPaymentCount();
+            p.forEachPayment(counter);
+            payments += p.hasFullyPaid() ? 0 : 1;
+            if (p.getPaymentCount() == 0) {
+                payments += p.getPaymentMethods().size();
+            }
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertEquals(PARTICIPANTS / 2, payments);
+        assertEquals(PARTICIPANTS / 2, visited[0]);
+        assertTrue(allocated < PARTICIPANTS * 4L, "Bytes asignados al leer: " + allocated);
+    }
+
+    /**
+     * Heap retenido por participante, después de un GC, según cuántos pagos
+     * tiene. Textos y pagos se crean antes de medir, así que la diferencia es
+     * el objeto Participant y lo que agrega llevar sus pagos:
+     * - 0 pagos: solo el objeto (el estado vacío es compartido; snapshot() no
+     *   deja una vista guardada ni hay listener)
+     * - 1 pago: el estado nuevo, el listener del participante y su registro en
+     *   el pago, sin lista
+     * - 3 pagos: recién aquí aparece el vector, que crece de a una referencia
+     */
+    @Test
+    void retainedHeapPerParticipantByPaymentCount() {
+        long none = retainedPerParticipant(0);
+        long one = retainedPerParticipant(1);
+        long three = retainedPerParticipant(3);
+
+        System.out.printf("Heap retenido por participante: 0 pagos %d bytes, 1 pago %d, 3 pagos %d%n",
+                none, one, three);
+        // Cabecera y campos del Student: una vista guardada sumaría otros 48
+        assertTrue(none <= 96, "Bytes por participante sin pagos: " + none);
+        // Estado (32), listener (16) y el vector de listeners del pago
+        assertTrue(one - none <= 128, "Bytes del primer pago: " + (one - none));
+        // Cada pago extra: su estado reemplaza al anterior, solo crecen el
+        // vector de pagos y el de listeners del pago
+        assertTrue(three - one <= 2 * 128, "Bytes de dos pagos más: " + (three - one));
+        assertTrue(three > one, "Con varios pagos hace falta el vector");
+    }
+
+    private static long retainedPerParticipant(int paymentsEach) {
+        String[] ids = new String[RETAINED_PARTICIPANTS];
+        String[] names = new String[RETAINED_PARTICIPANTS];
+        String[] emails = new String[RETAINED_PARTICIPANTS];
+        PaymentMethod[] payments = new PaymentMethod[RETAINED_PARTICIPANTS * paymentsEach];
+        for (int i = 0; i < RETAINED_PARTICIPANTS; i++) {
+            ids[i] = "S" + i;
+            names[i] = "Estudiante " + i;
+            emails[i] = "s" + i + "@unsa.edu.pe";
+            for (int k = 0; k < paymentsEach; k++) {
+                payments[i * paymentsEach + k] = new CashPayment(10.0, names[i], "Caja", "R-" + k, "PEN");
+            }
+        }
+        Participant[] participants = new Participant[RETAINED_PARTICIPANTS];
+
+        long before = usedHeapAfterGc();
+        for (int i = 0; i < RETAINED_PARTICIPANTS; i++) {
+            Participant p = new Student(ids[i], names[i], emails[i], "UNSA", "Software");
+            for (int k = 0; k < paymentsEach; k++) {
+                p.addPayment(payments[i * paymentsEach + k]);
+            }
+            p.snapshot();
+            participants[i] = p;
+        }
+        long after = usedHeapAfterGc();
+
+        assertEquals(paymentsEach, participants[RETAINED_PARTICIPANTS - 1].getPaymentCount());
+        Reference.reachabilityFence(participants);
+        Reference.reachabilityFence(payments);
+        Reference.reachabilityFence(ids);
+        Reference.reachabilityFence(names);
+        Reference.reachabilityFence(emails);
+        return (after - before) / RETAINED_PARTICIPANTS;
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        return threads;
+    }
+
+    private static Guest guest(int i) {
+        return new Guest("G" + i, "Invitado " + i, "g" + i + "@empresa.pe", "Empresa");
+    }
+
+    private static Student student(int i) {
+        return new Student("S" + i, "Estudiante " + i, "s" + i + "@unsa.edu.pe", "UNSA", "Software");
+    }
+}
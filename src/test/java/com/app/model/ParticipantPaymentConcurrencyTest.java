@@ -0,0 +1,182 @@
+package com.app.model;
+
+import com.app.participants.Student;
+import com.app.payment.CashPayment;
+import com.app.payment.PaymentMethod;
+import com.app.payment.PaymentMethod.PaymentStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prueba de estrés del estado de pago: varios hilos agregan pagos a los
+ * mismos participantes mientras otros cambian el estado de esos pagos
+ */
+class ParticipantPaymentConcurrencyTest {
+
+    private static final int PARTICIPANTS = 4;
+    private static final int PAYERS = 4;
+    private static final int TOGGLERS = 2;
+    private static final int PAYMENTS_PER_PAYER = 500;
+
+    private static final PaymentStatus[] STATUSES = {
+            PaymentStatus.COMPLETED, PaymentStatus.REFUNDED, PaymentStatus.FAILED, PaymentStatus.PENDING
+    };
+
+    @Test
+    void paymentsAndStatusTogglesKeepTotalsAndStatisticsExact() throws Exception {
+        List<Student> students = students();
+        ParticipantStatistics statistics = new ParticipantStatistics();
+        statistics.addAll(students);
+        AtomicBoolean paying = new AtomicBoolean(true);
+
+        runConcurrently(PAYERS + TOGGLERS, thread -> {
+            if (thread < PAYERS) {
+                pay(students, thread);
+                return;
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            // Cada vuelta cambia el estado de un pago cualquiera de cada participante
+            do {
+                for (Student s : students) {
+                    List<PaymentMethod> payments = s.getPaymentMethods();
+                    if (!payments.isEmpty()) {
+                        payments.get(random.nextInt(payments.size()))
+                                .setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+                    }
+                }
+            } while (paying.get());
+        }, paying);
+
+        long revenue = 0;
+        long fullyPaid = 0;
+        for (Student s : students) {
+            long expected = 0;
+            for (PaymentMethod payment : s.getPaymentMethods()) {
+                expected += payment.getStatus().countsAsPaid() ? payment.getAmountCents() : 0;
+            }
+            assertEquals(PAYERS * PAYMENTS_PER_PAYER, s.getPaymentCount());
+            assertEquals(expected, s.getTotalPaidCents(), s.getId());
+            assertEquals(expected >= s.getRegistrationFeeCents(), s.hasFullyPaid(), s.getId());
+            assertEquals(s.getTotalPaidCents(), s.snapshot().totalPaidCents());
+            revenue += expected;
+            fullyPaid += s.hasFullyPaid() ? 1 : 0;
+        }
+        assertEquals(revenue, statistics.getRevenueCents());
+        assertEquals(fullyPaid, statistics.getFullyPaidCount());
+        assertEquals(PARTICIPANTS, statistics.getCount());
+    }
+
+    /**
+     * Sin cambios de estado los pagos solo suman: quien observa nunca debe ver
+     * que el total, la cantidad de pagos o el pago completo retroceden
+     */
+    @Test
+    void observersNeverSeeTotalsGoBackwards() throws Exception {
+        List<Student> students = students();
+        AtomicBoolean paying = new AtomicBoolean(true);
+
+        runConcurrently(PAYERS + 1, thread -> {
+            if (thread < PAYERS) {
+                pay(students, thread);
+                return;
+            }
+            long[] lastTotal = new long[PARTICIPANTS];
+            int[] lastCount = new int[PARTICIPANTS];
+            boolean[] lastPaid = new boolean[PARTICIPANTS];
+            do {
+                for (int i = 0; i < PARTICIPANTS; i++) {
+                    ParticipantView view = students.get(i).snapshot();
+                    assertTrue(view.totalPaidCents() >= lastTotal[i], "El total retrocedió");
+                    assertTrue(view.paymentCount() >= lastCount[i], "La cantidad de pagos retrocedió");
+                    assertTrue(view.hasFullyPaid() || !lastPaid[i], "El pago completo retrocedió");
+                    assertEquals(view.totalPaidCents() >= view.registrationFeeCents(), view.hasFullyPaid());
+                    lastTotal[i] = view.totalPaidCents();
+                    lastCount[i] = view.paymentCount();
+                    lastPaid[i] = view.hasFullyPaid();
+                }
+            } while (paying.get());
+        }, paying);
+
+        for (Student s : students) {
+            assertEquals(PAYERS * PAYMENTS_PER_PAYER, s.getPaymentCount());
+            assertEquals(PAYERS * expectedCentsPerPayer(), s.getTotalPaidCents());
+            assertTrue(s.hasFullyPaid());
+        }
+    }
+
+    private static List<Student> students() {
+        List<Student> students = new ArrayList<>(PARTICIPANTS);
+        for (int i = 0; i < PARTICIPANTS; i++) {
+            students.add(new Student("S" + i, "Estudiante " + i, "s" + i + "@unsa.edu.pe", "UNSA", "Software"));
+        }
+        return students;
+    }
+
+    /**
+     * Montos de 0.10 a 0.70 para que el total dependa de qué pagos cuentan
+     */
+    private static void pay(List<Student> students, int thread) {
+        for (int i = 0; i < PAYMENTS_PER_PAYER; i++) {
+            for (Student s : students) {
+                s.addPayment(new CashPayment((i % 7 + 1) / 10.0, s.getName(), "Caja " + thread, "R-" + i, "PEN"));
+            }
+        }
+    }
+
+    private static long expectedCentsPerPayer() {
+        long cents = 0;
+        for (int i = 0; i < PAYMENTS_PER_PAYER; i++) {
+            cents += (i % 7 + 1) * 10L;
+        }
+        return cents;
+    }
+
+    private interface Worker {
+        void run(int thread) throws Exception;
+    }
+
+    /**
+     * Arranca todos los hilos a la vez; los primeros PAYERS son los pagadores
+     * y al terminar ellos se apaga 'paying' para que los demás terminen su vuelta
+     */
+    private static void runConcurrently(int threads, Worker worker, AtomicBoolean paying) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    worker.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            try {
+                for (Future<?> payer : futures.subList(0, PAYERS)) {
+                    payer.get(60, TimeUnit.SECONDS);
+                }
+            } finally {
+                paying.set(false);
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
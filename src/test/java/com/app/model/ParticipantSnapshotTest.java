@@ -0,0 +1,125 @@
+package com.app.model;
+
+import com.app.organizers.CommissionMember;
+import com.app.organizers.CommissionMemberView;
+import com.app.participants.Administrative;
+import com.app.participants.AdministrativeView;
+import com.app.participants.Audience;
+import com.app.participants.AudienceView;
+import com.app.participants.Guest;
+import com.app.participants.GuestView;
+import com.app.participants.InternationalPresenter;
+import com.app.participants.InternationalPresenterView;
+import com.app.participants.NationalPresenter;
+import com.app.participants.NationalPresenterView;
+import com.app.participants.Student;
+import com.app.participants.StudentView;
+import com.app.participants.Teacher;
+import com.app.participants.TeacherView;
+import com.app.payment.CashPayment;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * snapshot() de cada subclase: su propio record, con sus campos y el estado de
+ * pago del momento en que se tomó
+ */
+class ParticipantSnapshotTest {
+
+    @Test
+    void everySubclassReturnsItsOwnViewWithMatchingFields() {
+        for (Map.Entry<Participant, Function<Participant, ParticipantView>> entry : cases().entrySet()) {
+            Participant p = entry.getKey();
+            Function<Participant, ParticipantView> expected = entry.getValue();
+            String label = p.getClass().getSimpleName();
+
+            ParticipantView before = p.snapshot();
+            assertSame(expected.apply(p).getClass(), before.getClass(), label);
+            assertEquals(expected.apply(p), before, label);
+            assertEquals(0, before.paymentCount(), label);
+            assertEquals(0, before.totalPaidCents(), label);
+
+            // Cada foto se arma con el estado de ese momento
+            for (int i = 1; i <= 3; i++) {
+                p.addPayment(new CashPayment(25.0, p.getName(), "Caja", "R-" + i, "PEN"));
+                ParticipantView after = p.snapshot();
+                assertEquals(expected.apply(p), after, label);
+                assertEquals(i, after.paymentCount(), label);
+                assertEquals(i * 2_500L, after.totalPaidCents(), label);
+                assertEquals(p.hasFullyPaid(), after.hasFullyPaid(), label);
+                assertEquals(p.getOutstandingCents(), after.outstandingCents(), label);
+            }
+            // Las fotos anteriores no cambian
+            assertEquals(0, before.paymentCount(), label);
+            assertEquals(0, before.totalPaidCents(), label);
+            assertEquals(p.snapshot(), p.snapshot(), label);
+        }
+    }
+
+    /**
+     * Un participante de cada subclase y la vista que debería entregar, armada
+     * con sus getters
+     */
+    private static Map<Participant, Function<Participant, ParticipantView>> cases() {
+        Map<Participant, Function<Participant, ParticipantView>> cases = new LinkedHashMap<>();
+        cases.put(new Student("S1", "Ana", "s1@unsa.edu.pe", "UNSA", "Software"), p -> {
+            Student s = (Student) p;
+            return new StudentView(s.getId(), s.getName(), s.getEmail(), s.getType(),
+                    s.getRegistrationFeeCents(), s.getTotalPaidCents(), s.getPaymentCount(),
+                    s.getUniversity(), s.getCareer());
+        });
+        cases.put(new Teacher("T1", "Luis", "t1@unsa.edu.pe", "UNSA", "Redes"), p -> {
+            Teacher t = (Teacher) p;
+            return new TeacherView(t.getId(), t.getName(), t.getEmail(), t.getType(),
+                    t.getRegistrationFeeCents(), t.getTotalPaidCents(), t.getPaymentCount(),
+                    t.getInstitution(), t.getSpecialty());
+        });
+        cases.put(new Administrative("A1", "Rosa", "a1@unsa.edu.pe", "Finanzas", "Analista"), p -> {
+            Administrative a = (Administrative) p;
+            return new AdministrativeView(a.getId(), a.getName(), a.getEmail(), a.getType(),
+                    a.getRegistrationFeeCents(), a.getTotalPaidCents(), a.getPaymentCount(),
+                    a.getDepartment(), a.getPosition());
+        });
+        cases.put(new Guest("G1", "Mario", "g1@empresa.pe", "Empresa"), p -> {
+            Guest g = (Guest) p;
+            return new GuestView(g.getId(), g.getName(), g.getEmail(), g.getType(),
+                    g.getRegistrationFeeCents(), g.getTotalPaidCents(), g.getPaymentCount(),
+                    g.getOrganization());
+        });
+        cases.put(new NationalPresenter("N1", "Elena", "n1@unsa.edu.pe", "Compiladores", "UNSA"), p -> {
+            NationalPresenter n = (NationalPresenter) p;
+            return new NationalPresenterView(n.getId(), n.getName(), n.getEmail(), n.getType(),
+                    n.getRegistrationFeeCents(), n.getTotalPaidCents(), n.getPaymentCount(),
+                    n.getTopic(), n.getInstitution());
+        });
+        cases.put(new InternationalPresenter("I1", "John", "i1@mit.edu", "Tipos", "EE.UU.", "MIT"), p -> {
+            InternationalPresenter i = (InternationalPresenter) p;
+            return new InternationalPresenterView(i.getId(), i.getName(), i.getEmail(), i.getType(),
+                    i.getRegistrationFeeCents(), i.getTotalPaidCents(), i.getPaymentCount(),
+                    i.getTopic(), i.getCountry(), i.getInstitution());
+        });
+        cases.put(new Audience("P1", "Carla", "p1@correo.pe", true, "Chile"), p -> {
+            Audience a = (Audience) p;
+            return new AudienceView(a.getId(), a.getName(), a.getEmail(), a.getType(),
+                    a.getRegistrationFeeCents(), a.getTotalPaidCents(), a.getPaymentCount(),
+                    a.isInternational(), a.getCountry());
+        });
+        cases.put(new CommissionMember("C1", "Jorge", "c1@unsa.edu.pe", "UNSA", "IA", "Presidente"), p -> {
+            CommissionMember c = (CommissionMember) p;
+            return new CommissionMemberView(c.getId(), c.getName(), c.getEmail(), c.getType(),
+                    c.getRegistrationFeeCents(), c.getTotalPaidCents(), c.getPaymentCount(),
+                    c.getInstitution(), c.getSpecialty(), c.getCommissionRole());
+        });
+        // Subclase sin vista propia: recibe la básica
+        cases.put(new Participant("O1", "Otro", "o1@correo.pe", "Otro") {
+        }, p -> new ParticipantView.Basic(p.getId(), p.getName(), p.getEmail(), p.getType(),
+                p.getRegistrationFeeCents(), p.getTotalPaidCents(), p.getPaymentCount()));
+        return cases;
+    }
+}
@@ -0,0 +1,87 @@
+package com.app.model;
+
+import com.app.participants.Student;
+import com.app.payment.CashPayment;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ParticipantStatisticsTest {
+
+    private static final int PARTICIPANTS = 2_000;
+
+    /**
+     * Los pagos llegan mientras otro hilo engancha las estadísticas: cada pago
+     * debe quedar contado una sola vez, sea en el total inicial o por aviso
+     */
+    @Test
+    void paymentsDuringAddAreCountedOnce() throws Exception {
+        List<Student> students = new ArrayList<>(PARTICIPANTS);
+        for (int i = 0; i < PARTICIPANTS; i++) {
+            students.add(new Student("S" + i, "Estudiante " + i, "s" + i + "@unsa.edu.pe", "UNSA", "Software"));
+        }
+        ParticipantStatistics statistics = new ParticipantStatistics();
+        CountDownLatch start = new CountDownLatch(1);
+
+        Thread payer = new Thread(() -> {
+            await(start);
+            for (int round = 0; round < 2; round++) {
+                for (Student s : students) {
+                    s.addPayment(new CashPayment(25.0, s.getName(), "Caja", "R", "PEN"));
+                }
+            }
+        });
+        payer.start();
+        start.countDown();
+        statistics.addAll(students);
+        payer.join();
+
+        long expectedCents = 0;
+        long expectedPaid = 0;
+        for (Student s : students) {
+            expectedCents += s.getTotalPaidCents();
+            expectedPaid += s.hasFullyPaid() ? 1 : 0;
+        }
+        assertEquals(PARTICIPANTS * 5_000L, expectedCents);
+        assertEquals(expectedCents, statistics.getRevenueCents());
+        assertEquals(expectedPaid, statistics.getFullyPaidCount());
+        assertEquals(PARTICIPANTS, statistics.getCount("ESTUDIANTE"));
+    }
+
+    @Test
+    void removeSubtractsWhatWasCounted() {
+        Student student = new Student("S1", "Ana", "s1@unsa.edu.pe", "UNSA", "Software");
+        student.addPayment(new CashPayment(50.0, "Ana", "Caja", "R-1", "PEN"));
+        ParticipantStatistics statistics = new ParticipantStatistics();
+        statistics.add(student);
+        statistics.remove(student);
+        student.addPayment(new CashPayment(10.0, "Ana", "Caja", "R-2", "PEN"));
+
+        assertEquals(0, statistics.getCount());
+        assertEquals(0, statistics.getFullyPaidCount());
+        assertEquals(0, statistics.getRevenueCents());
+    }
+
+    @Test
+    void readingUnknownTypesDoesNotRegisterThem() {
+        ParticipantStatistics statistics = new ParticipantStatistics();
+        int before = AttributeDictionary.SHARED.size();
+
+        assertEquals(0, statistics.getCount("Tipo que nadie registró"));
+        assertEquals(0, statistics.getRevenueCents("Otro tipo que nadie registró"));
+
+        assertEquals(before, AttributeDictionary.SHARED.size());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
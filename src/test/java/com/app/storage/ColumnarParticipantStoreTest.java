@@ -0,0 +1,40 @@
+package com.app.storage;
+
+import com.app.model.AttributeDictionary;
+import com.app.participants.Student;
+import com.app.participants.Teacher;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ColumnarParticipantStoreTest {
+
+    private final ColumnarParticipantStore store = ColumnarParticipantStore.from(List.of(
+            new Student("S1", "Ana", "s1@unsa.edu.pe", "UNSA", "Software"),
+            new Teacher("T1", "Luis", "t1@unsa.edu.pe", "UNSA", "Software"),
+            new Student("S2", "Rosa", "s2@unsa.edu.pe", "UNSA", "Sistemas")));
+
+    @Test
+    void typeQueriesIgnoreCase() {
+        assertEquals(2, store.countByType("estudiante"));
+        assertEquals(2, store.countByType("ESTUDIANTE"));
+        assertEquals(1, store.countByType("Docente"));
+        assertArrayEquals(new int[] {0, 2}, store.rowsByType("eStUdIaNtE"));
+        assertEquals(Map.of("Estudiante", 2, "Docente", 1), store.countsByType());
+    }
+
+    @Test
+    void unknownTypesAreNotRegistered() {
+        int before = AttributeDictionary.SHARED.size();
+
+        assertEquals(0, store.countByType("Tipo inexistente"));
+        assertEquals(0, store.rowsByType("Otro tipo inexistente").length);
+        assertEquals(0L, store.totalPaidCents("Tampoco existe"));
+
+        assertEquals(before, AttributeDictionary.SHARED.size());
+    }
+}
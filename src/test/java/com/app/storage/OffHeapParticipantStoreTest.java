@@ -0,0 +1,73 @@
+package com.app.storage;
+
+import com.app.model.FeeSchedule;
+import com.app.model.ParticipantType;
+import com.app.model.ParticipantView;
+import com.app.participants.Guest;
+import com.app.participants.Student;
+import com.app.participants.StudentView;
+import com.app.payment.CashPayment;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffHeapParticipantStoreTest {
+
+    @Test
+    void viewsKeepTheStoredFeeAndPaymentState() {
+        Student paid = new Student("S1", "Ana", "s1@unsa.edu.pe", "UNSA", "Software");
+        paid.addPayment(new CashPayment(50.0, "Ana", "Caja", "R-1", "PEN"));
+        Student pending = new Student("S2", "Luis", "s2@unsa.edu.pe", "UNSA", "Software");
+
+        OffHeapParticipantStore store = OffHeapParticipantStore.from(List.of(paid, pending));
+        FeeSchedule previous = FeeSchedule.install(FeeSchedule.current().withFee(ParticipantType.STUDENT, 75.0));
+        try {
+            ParticipantView view = store.findById("S1").orElseThrow();
+            StudentView student = assertInstanceOf(StudentView.class, view);
+            assertEquals("Estudiante", student.type());
+            assertEquals("Software", student.career());
+            assertEquals(5000, student.registrationFeeCents());
+            assertEquals(5000, student.totalPaidCents());
+            assertEquals(1, student.paymentCount());
+            assertTrue(student.hasFullyPaid());
+
+            assertFalse(store.get(1).hasFullyPaid());
+            assertEquals(5000, store.get(1).outstandingCents());
+        } finally {
+            FeeSchedule.install(previous);
+        }
+    }
+
+    @Test
+    void typeLookupIgnoresCase() {
+        OffHeapParticipantStore store = OffHeapParticipantStore.from(List.of(
+                new Student("S1", "Ana", "s1@unsa.edu.pe", "UNSA", "Software"),
+                new Guest("G1", "Rosa", "g1@unsa.edu.pe", "Municipalidad")));
+
+        assertEquals(1, store.getParticipantsByType("INVITADO").size());
+        assertEquals("G1", store.getParticipantsByType("invitado").get(0).id());
+        assertEquals(0, store.getParticipantsByType("Tipo inexistente").size());
+    }
+
+    @Test
+    void closeReleasesTheBuffers() {
+        OffHeapParticipantStore store = OffHeapParticipantStore.from(List.of(
+                new Student("S1", "Ana", "s1@unsa.edu.pe", "UNSA", "Software")));
+        assertTrue(store.getOffHeapBytes() > 0);
+
+        store.close();
+        store.close();
+
+        assertTrue(store.isClosed());
+        assertEquals(0, store.size());
+        assertEquals(0, store.getOffHeapBytes());
+        assertThrows(IllegalStateException.class, () -> store.findById("S1"));
+        assertThrows(IllegalStateException.class, () -> store.get(0));
+    }
+}
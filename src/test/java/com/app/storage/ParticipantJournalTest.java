@@ -0,0 +1,184 @@
+package com.app.storage;
+
+import com.app.events.EventSink;
+import com.app.events.EventSinks;
+import com.app.events.EventType;
+import com.app.generics.EventRegistry;
+import com.app.model.Participant;
+import com.app.participants.Student;
+import com.app.participants.Teacher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Recuperación del diario tras escrituras interrumpidas y atomicidad de los
+ * bloques que EventRegistry le agrega
+ */
+class ParticipantJournalTest {
+
+    private static final int SMALL_SEGMENT = 512;
+
+    @TempDir
+    Path directory;
+
+    private final AtomicInteger events = new AtomicInteger();
+    private EventSink previousSink;
+
+    @BeforeEach
+    void countEvents() {
+        previousSink = EventSinks.install(new EventSink() {
+            @Override
+            public void emit(EventType type, Participant participant) {
+                events.incrementAndGet();
+            }
+
+            @Override
+            public void emitSummary(EventType type, int count) {
+                events.addAndGet(count);
+            }
+        });
+    }
+
+    @AfterEach
+    void restoreEvents() {
+        EventSinks.install(previousSink);
+    }
+
+    @Test
+    void tornLastEntryIsDroppedAndAppendsContinue() throws IOException {
+        try (ParticipantJournal journal = open()) {
+            for (int i = 0; i < 3; i++) {
+                journal.append(student(i));
+            }
+        }
+        tearEntry(segments().get(0), 2);
+
+        try (ParticipantJournal journal = open()) {
+            assertEquals(2, journal.getRecordCount());
+            journal.append(student(9));
+        }
+        try (ParticipantJournal journal = open()) {
+            assertEquals(List.of("S0", "S1", "S9"), replayedIds(journal));
+        }
+    }
+
+    @Test
+    void tornEntryInAnEarlierSegmentDiscardsTheLaterSegments() throws IOException {
+        try (ParticipantJournal journal = open()) {
+            for (int i = 0; i < 20; i++) {
+                journal.append(student(i));
+            }
+        }
+        List<Path> written = segments();
+        assertTrue(written.size() >= 3, "Se esperaban varios segmentos: " + written.size());
+        tearEntry(written.get(0), 1);
+
+        try (ParticipantJournal journal = open()) {
+            assertEquals(1, journal.getRecordCount());
+            assertEquals(List.of("S0"), replayedIds(journal));
+        }
+        assertEquals(1, segments().size());
+    }
+
+    @Test
+    void batchWithAnUnsupportedSubclassChangesNothing() throws IOException {
+        Participant unsupported = new Participant("X1", "Externo", "x1@unsa.edu.pe", "Estudiante") {
+        };
+        List<Participant> batch = List.of(student(0), unsupported, student(1));
+
+        try (ParticipantJournal journal = open()) {
+            EventRegistry registry = new EventRegistry();
+            registry.attachJournal(journal);
+
+            assertThrows(IllegalArgumentException.class, () -> registry.registerAll(batch));
+            assertThrows(IllegalArgumentException.class, () -> registry.addParticipant(unsupported));
+
+            assertEquals(0, registry.getAllParticipants().size());
+            assertEquals(0, registry.getStatistics().getCount());
+            assertEquals(0, journal.getRecordCount());
+            assertEquals(0, events.get());
+        }
+    }
+
+    @Test
+    void batchesLargerThanASegmentSpanSeveralSegments() throws IOException {
+        List<Participant> batch = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            batch.add(i % 2 == 0 ? student(i) : teacher(i));
+        }
+        try (ParticipantJournal journal = open()) {
+            EventRegistry registry = new EventRegistry();
+            registry.attachJournal(journal);
+            registry.registerAll(batch);
+            assertEquals(40, journal.getRecordCount());
+            assertEquals(40, events.get());
+        }
+
+        try (ParticipantJournal journal = open()) {
+            EventRegistry restored = new EventRegistry();
+            assertEquals(40, restored.attachJournal(journal));
+            assertEquals(20, restored.getParticipantsByType("Docente").size());
+        }
+    }
+
+    private ParticipantJournal open() throws IOException {
+        return new ParticipantJournal(directory, SMALL_SEGMENT, ParticipantJournal.DEFAULT_GROUP_COMMIT_SIZE);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    /**
+     * Simula una escritura interrumpida: cambia un byte del contenido de la
+     * entrada 'entry' del segmento, así su CRC deja de coincidir
+     */
+    private static void tearEntry(Path segment, int entry) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(4);
+            long position = 0;
+            for (int i = 0; i < entry; i++) {
+                header.clear();
+                channel.read(header, position);
+                position += 8 + header.getInt(0);
+            }
+            ByteBuffer b = ByteBuffer.allocate(1);
+            channel.read(b, position + 8);
+            b.put(0, (byte) ~b.get(0)).rewind();
+            channel.write(b, position + 8);
+        }
+    }
+
+    private static List<String> replayedIds(ParticipantJournal journal) throws IOException {
+        List<String> ids = new ArrayList<>();
+        journal.replay(p -> ids.add(p.getId()));
+        return ids;
+    }
+
+    private static Student student(int i) {
+        return new Student("S" + i, "Estudiante " + i, "s" + i + "@unsa.edu.pe", "UNSA", "Software");
+    }
+
+    private static Teacher teacher(int i) {
+        return new Teacher("T" + i, "Docente " + i, "t" + i + "@unsa.edu.pe", "UNSA", "Software");
+    }
+}